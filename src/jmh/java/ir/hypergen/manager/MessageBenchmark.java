@@ -0,0 +1,45 @@
+package ir.hypergen.manager;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageBenchmark {
+    private static final String PROGRESS = "&eProgress: &f{progress}% &7({current}/{total})";
+    private static final String TRIM = "&aTrim of &e{world}&a finished in &e{time}s&a: &e{chunks}&a chunks removed, &e{trimmed}&a regions trimmed, &e{deleted}&a regions deleted (&e{size} MB&a), &e{skipped}&a skipped";
+    
+    private Map<String, String> progressPlaceholders;
+    private Map<String, String> trimPlaceholders;
+    
+    @Setup
+    public void setup() {
+        progressPlaceholders = new HashMap<>();
+        progressPlaceholders.put("progress", "42.17");
+        progressPlaceholders.put("current", "421700");
+        progressPlaceholders.put("total", "1000000");
+        
+        trimPlaceholders = new HashMap<>();
+        trimPlaceholders.put("world", "world");
+        trimPlaceholders.put("time", "12.5");
+        trimPlaceholders.put("chunks", "123456");
+        trimPlaceholders.put("trimmed", "42");
+        trimPlaceholders.put("deleted", "17");
+        trimPlaceholders.put("size", "512.0");
+        trimPlaceholders.put("skipped", "3");
+    }
+    
+    @Benchmark
+    public String progressMessage() {
+        return ConfigManager.applyPlaceholders(PROGRESS, progressPlaceholders);
+    }
+    
+    @Benchmark
+    public String trimMessage() {
+        return ConfigManager.applyPlaceholders(TRIM, trimPlaceholders);
+    }
+}
\ No newline at end of file
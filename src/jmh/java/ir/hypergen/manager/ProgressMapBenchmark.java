@@ -0,0 +1,38 @@
+package ir.hypergen.manager;
+
+import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.Selection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProgressMapBenchmark {
+    @Param({"256", "1024", "4096"})
+    private int radius;
+    
+    private GenerationTask task;
+    private byte[] pixels;
+    
+    @Setup
+    public void setup() {
+        Selection selection = new Selection();
+        selection.setRadius(radius);
+        task = new GenerationTask(null, selection, GenerationTask.GenerationMode.NORMAL);
+        pixels = new byte[MapManager.ProgressMapRenderer.SIZE * MapManager.ProgressMapRenderer.SIZE];
+        
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                task.getProcessedChunks().add(x, z);
+            }
+        }
+    }
+    
+    @Benchmark
+    public byte[] render() {
+        MapManager.ProgressMapRenderer.rasterize(task, pixels);
+        return pixels;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package ir.hypergen.manager;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatisticsBenchmark {
+    private StatisticsManager.WorldStatistics statistics;
+    
+    @Setup
+    public void setup() {
+        statistics = new StatisticsManager.WorldStatistics();
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public void recordUncontended() {
+        statistics.record(1);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        statistics.record(1);
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void recordSaturated() {
+        statistics.record(1);
+    }
+}
\ No newline at end of file
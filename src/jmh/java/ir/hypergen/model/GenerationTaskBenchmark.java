@@ -0,0 +1,80 @@
+package ir.hypergen.model;
+
+import ir.hypergen.util.ChunkBitmap;
+import ir.hypergen.util.ConcurrentChunkBitmap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GenerationTaskBenchmark {
+    @Param({"64", "256", "1024"})
+    private int radius;
+    
+    private Selection selection;
+    private GenerationTask task;
+    private ChunkBitmap completed;
+    
+    @Setup
+    public void setup() {
+        selection = new Selection();
+        selection.setRadius(radius);
+        task = new GenerationTask(null, selection, GenerationTask.GenerationMode.NORMAL);
+        completed = new ChunkBitmap();
+        
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                task.getProcessedChunks().add(x, z);
+                if (((x ^ z) & 1) == 0) {
+                    completed.add(x, z);
+                }
+            }
+        }
+    }
+    
+    @Benchmark
+    public int markProcessed() {
+        ConcurrentChunkBitmap processed = new ConcurrentChunkBitmap();
+        int added = 0;
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                if (processed.add(x, z)) {
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+    
+    @Benchmark
+    public int containsProcessed() {
+        ConcurrentChunkBitmap processed = task.getProcessedChunks();
+        int found = 0;
+        for (int x = -radius - 16; x <= radius + 16; x++) {
+            for (int z = -radius - 16; z <= radius + 16; z++) {
+                if (processed.contains(x, z)) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+    
+    @Benchmark
+    public ChunkBitmap snapshotProcessed() {
+        return task.getProcessedChunks().snapshot();
+    }
+    
+    @Benchmark
+    public long countCompleted() {
+        return completed.countWithin(selection, null);
+    }
+    
+    @Benchmark
+    public ProgressSnapshot publishSnapshot() {
+        task.incrementCurrentChunk();
+        return task.publishSnapshot();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CursorBenchmark {
+    @Param({"spiral", "concentric", "region", "hilbert", "zorder"})
+    private String pattern;
+    
+    @Param({"64", "256", "1024"})
+    private int radius;
+    
+    private Selection selection;
+    
+    @Setup
+    public void setup() {
+        selection = new Selection();
+        selection.setRadius(radius);
+    }
+    
+    @Benchmark
+    public long walk(Blackhole blackhole) {
+        ChunkCursor cursor = createCursor();
+        long visited = 0;
+        while (cursor.next()) {
+            blackhole.consume(cursor.getX() ^ cursor.getZ());
+            visited++;
+        }
+        return visited;
+    }
+    
+    private ChunkCursor createCursor() {
+        switch (pattern) {
+            case "concentric":
+                return new ConcentricCursor(selection);
+            case "region":
+                return new RegionCursor(selection);
+            case "hilbert":
+                return new HilbertCursor(selection);
+            case "zorder":
+                return new MortonCursor(selection);
+            default:
+                return new SpiralCursor(selection);
+        }
+    }
+}
\ No newline at end of file
@@ -6,6 +6,9 @@ import ir.hypergen.command.ConsoleCommandHandler;
 import ir.hypergen.listener.FastModeListener;
 import ir.hypergen.listener.MapInventoryListener;
 import ir.hypergen.manager.*;
+import ir.hypergen.util.SchedulerAdapter;
+import ir.hypergen.util.TickMonitor;
+import ir.hypergen.util.TimeSource;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -13,29 +16,54 @@ import org.bukkit.plugin.java.JavaPlugin;
 @Getter
 public class HyperGen extends JavaPlugin {
     
+    private SchedulerAdapter schedulerAdapter;
+    private TimeSource timeSource;
     private ConfigManager configManager;
     private SelectionManager selectionManager;
+    private PatternManager patternManager;
     private TaskManager taskManager;
+    private CheckpointManager checkpointManager;
     private FastModeListener fastModeListener;
+    private TickMonitor tickMonitor;
     private MapManager mapManager;
     private StatisticsManager statisticsManager;
+    private MetricsManager metricsManager;
+    private ProfileManager profileManager;
     private NotificationManager notificationManager;
     private QueueManager queueManager;
+    private TrimManager trimManager;
+    private CompactionManager compactionManager;
+    private MaintenanceManager maintenanceManager;
     private ConsoleCommandHandler consoleCommandHandler;
     private PlaceholderManager placeholderManager;
     
     @Override
-    public void onEnable() {
+    public void onLoad() {
         saveDefaultConfig();
         
         configManager = new ConfigManager(this);
+        maintenanceManager = new MaintenanceManager(this);
+        maintenanceManager.runPending();
+    }
+    
+    @Override
+    public void onEnable() {
+        schedulerAdapter = SchedulerAdapter.create(this);
+        timeSource = TimeSource.SYSTEM;
+        tickMonitor = new TickMonitor(timeSource);
         selectionManager = new SelectionManager(this);
+        patternManager = new PatternManager(this);
         taskManager = new TaskManager(this);
+        checkpointManager = new CheckpointManager(this);
         fastModeListener = new FastModeListener(this);
         mapManager = new MapManager(this);
         statisticsManager = new StatisticsManager(this);
+        metricsManager = new MetricsManager(this);
+        profileManager = new ProfileManager(this);
         notificationManager = new NotificationManager(this);
         queueManager = new QueueManager(this);
+        trimManager = new TrimManager(this);
+        compactionManager = new CompactionManager(this);
         consoleCommandHandler = new ConsoleCommandHandler(this);
         
         if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
@@ -49,22 +77,42 @@ public class HyperGen extends JavaPlugin {
         getCommand("hypergen").setTabCompleter(hypergenCommand);
         
         getServer().getPluginManager().registerEvents(fastModeListener, this);
+        getServer().getPluginManager().registerEvents(tickMonitor, this);
         getServer().getPluginManager().registerEvents(new MapInventoryListener(this), this);
         
         HyperGenAPI.initialize(this);
         
+        checkpointManager.resumeTasks();
+        checkpointManager.start();
+        metricsManager.start();
+        
         getLogger().info("HyperGen v2.0.0 enabled successfully!");
         getLogger().info("Running on Java " + System.getProperty("java.version"));
+        if (schedulerAdapter.isFolia()) {
+            getLogger().info("Folia detected, chunk batches will be dispatched to their owning region threads");
+        }
     }
     
     @Override
     public void onDisable() {
+        if (checkpointManager != null) {
+            checkpointManager.shutdown();
+        }
+        
         if (taskManager != null) {
             taskManager.shutdown();
         }
         
+        if (profileManager != null) {
+            profileManager.shutdown();
+        }
+        
+        if (metricsManager != null) {
+            metricsManager.shutdown();
+        }
+        
         if (statisticsManager != null) {
-            statisticsManager.saveStatistics();
+            statisticsManager.shutdown();
         }
         
         if (queueManager != null) {
@@ -0,0 +1,11 @@
+package ir.hypergen.api;
+
+import ir.hypergen.model.Selection;
+import ir.hypergen.util.ChunkCursor;
+
+public interface GenerationPattern {
+    
+    String getName();
+    
+    ChunkCursor createCursor(Selection selection);
+}
\ No newline at end of file
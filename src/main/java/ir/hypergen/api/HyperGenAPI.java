@@ -6,6 +6,7 @@ import ir.hypergen.model.Selection;
 import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.List;
 import java.util.Map;
 
 public class HyperGenAPI {
@@ -22,8 +23,8 @@ public class HyperGenAPI {
         return plugin;
     }
     
-    public static void startGeneration(World world, Selection selection, GenerationTask.GenerationMode mode) {
-        plugin.getTaskManager().startTask(world, selection, mode);
+    public static boolean startGeneration(World world, Selection selection, GenerationTask.GenerationMode mode) {
+        return plugin.getTaskManager().startTask(world, selection, mode);
     }
     
     public static void pauseGeneration(World world) {
@@ -50,6 +51,23 @@ public class HyperGenAPI {
         return plugin.getTaskManager().hasActiveTask(world);
     }
     
+    public static boolean isChunkProcessed(World world, int chunkX, int chunkZ) {
+        GenerationTask task = getTask(world);
+        return task != null && task.getProcessedChunks().contains(chunkX, chunkZ);
+    }
+    
+    public static boolean registerPattern(GenerationPattern pattern) {
+        return plugin.getPatternManager().register(pattern);
+    }
+    
+    public static boolean unregisterPattern(String name) {
+        return plugin.getPatternManager().unregister(name);
+    }
+    
+    public static List<String> getPatterns() {
+        return plugin.getPatternManager().getPatternNames();
+    }
+    
     public static double getProgress(World world) {
         GenerationTask task = getTask(world);
         return task != null ? task.getProgress() : 0;
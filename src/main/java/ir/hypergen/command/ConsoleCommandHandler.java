@@ -2,6 +2,7 @@ package ir.hypergen.command;
 
 import ir.hypergen.HyperGen;
 import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.ProgressSnapshot;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
@@ -53,6 +54,9 @@ public class ConsoleCommandHandler {
             case "reload":
                 handleConsoleReload(sender);
                 break;
+            case "profile":
+                handleConsoleProfile(sender, args);
+                break;
             default:
                 sender.sendMessage("Unknown command. Use 'hypergen help' for available commands.");
                 break;
@@ -76,7 +80,7 @@ public class ConsoleCommandHandler {
             try {
                 mode = GenerationTask.GenerationMode.valueOf(args[2].toUpperCase());
             } catch (IllegalArgumentException e) {
-                sender.sendMessage("Invalid mode. Available: NORMAL, PRO, FAST");
+                sender.sendMessage("Invalid mode. Available: NORMAL, PRO, FAST, ADAPTIVE");
                 return;
             }
         }
@@ -92,7 +96,10 @@ public class ConsoleCommandHandler {
         }
         
         var selection = plugin.getSelectionManager().createConsoleSelection(world, radius);
-        plugin.getTaskManager().startTask(world, selection, mode);
+        if (!plugin.getTaskManager().startTask(world, selection, mode)) {
+            sender.sendMessage("Could not start chunk generation for world: " + world.getName() + " (a task is already running)");
+            return;
+        }
         
         sender.sendMessage("Chunk generation started for world: " + world.getName());
         sender.sendMessage("Mode: " + mode + " | Radius: " + radius + " chunks");
@@ -160,13 +167,14 @@ public class ConsoleCommandHandler {
         sender.sendMessage("=== Active Generation Tasks ===");
         for (Map.Entry<World, GenerationTask> entry : tasks.entrySet()) {
             GenerationTask task = entry.getValue();
+            ProgressSnapshot snapshot = task.getSnapshot();
             sender.sendMessage(String.format("World: %s | Mode: %s | Progress: %.2f%% | Chunks: %d/%d | Status: %s",
                 task.getWorld().getName(),
                 task.getMode(),
-                task.getProgress(),
-                task.getCurrentChunk(),
-                task.getTotalChunks(),
-                task.isPaused() ? "PAUSED" : "RUNNING"
+                snapshot.getProgress(),
+                snapshot.getCurrentChunk(),
+                snapshot.getTotalChunks(),
+                snapshot.isPaused() ? "PAUSED" : "RUNNING"
             ));
         }
         sender.sendMessage("==============================");
@@ -179,9 +187,27 @@ public class ConsoleCommandHandler {
     
     private void handleConsoleReload(CommandSender sender) {
         plugin.getConfigManager().reload();
+        plugin.getMetricsManager().restart();
         sender.sendMessage("Configuration reloaded successfully");
     }
     
+    private void handleConsoleProfile(CommandSender sender, String[] args) {
+        int max = plugin.getConfigManager().getProfileMaxSeconds();
+        int seconds;
+        try {
+            seconds = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        } catch (NumberFormatException e) {
+            seconds = 0;
+        }
+        
+        if (seconds < 1 || seconds > max) {
+            sender.sendMessage("Usage: hypergen profile <seconds> (1-" + max + ")");
+            return;
+        }
+        
+        plugin.getProfileManager().start(sender, seconds);
+    }
+    
     private void sendConsoleHelp(CommandSender sender) {
         sender.sendMessage("=== HyperGen Console Commands ===");
         sender.sendMessage("hypergen start <world> [mode] [radius] - Start generation");
@@ -191,6 +217,7 @@ public class ConsoleCommandHandler {
         sender.sendMessage("hypergen progress - View all tasks progress");
         sender.sendMessage("hypergen silent - Toggle silent mode");
         sender.sendMessage("hypergen reload - Reload configuration");
+        sender.sendMessage("hypergen profile <seconds> - Record a JFR profile to plugins/HyperGen/profiles");
         sender.sendMessage("================================");
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package ir.hypergen.command;
 
 import ir.hypergen.HyperGen;
+import ir.hypergen.manager.StatisticsManager;
+import ir.hypergen.model.Estimate;
 import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.ProgressSnapshot;
 import ir.hypergen.model.QueuedTask;
 import ir.hypergen.model.Selection;
+import ir.hypergen.util.ChunkGenerator;
+import ir.hypergen.util.TaskEstimator;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.command.Command;
@@ -14,14 +19,17 @@ import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HyperGenCommand implements CommandExecutor, TabCompleter {
     private final HyperGen plugin;
     private final Map<UUID, Long> fastModeConfirmations;
+    private final Set<UUID> estimating;
     
     public HyperGenCommand(HyperGen plugin) {
         this.plugin = plugin;
         this.fastModeConfirmations = new HashMap<>();
+        this.estimating = ConcurrentHashMap.newKeySet();
     }
     
     @Override
@@ -84,6 +92,9 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
             case "corners":
                 handleCorners(player, args);
                 break;
+            case "polygon":
+                handlePolygon(player, args);
+                break;
             case "pattern":
                 handlePattern(player, args);
                 break;
@@ -121,7 +132,10 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
                 handleReload(player);
                 break;
             case "trim":
-                handleTrim(player);
+                handleTrim(player, args);
+                break;
+            case "compact":
+                handleCompact(player, args);
                 break;
             case "confirm":
                 handleConfirm(player);
@@ -129,6 +143,12 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
             case "speed":
                 handleSpeed(player, args);
                 break;
+            case "estimate":
+                handleEstimate(player, args);
+                break;
+            case "profile":
+                handleProfile(player, args);
+                break;
             case "eta":
                 handleEta(player);
                 break;
@@ -175,21 +195,21 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
             }
             
             fastModeConfirmations.remove(playerId);
-            
-            if (plugin.getConfigManager().isFastModeKickPlayers()) {
-                String kickMessage = plugin.getConfigManager().getFastModeKickMessage();
-                Bukkit.getOnlinePlayers().forEach(p -> {
-                    if (!p.hasPermission("hypergen.bypass")) {
-                        p.kickPlayer(kickMessage);
-                    }
-                });
-            }
         }
         
-        plugin.getTaskManager().startTask(selection.getWorld(), selection, mode);
-        plugin.getStatisticsManager().recordTaskStart(
-            new GenerationTask(selection.getWorld(), selection, mode)
-        );
+        if (!plugin.getTaskManager().startTask(selection.getWorld(), selection, mode)) {
+            player.sendMessage(plugin.getConfigManager().getMessage("task-start-refused"));
+            return;
+        }
+        
+        if (mode == GenerationTask.GenerationMode.FAST && plugin.getConfigManager().isFastModeKickPlayers()) {
+            String kickMessage = plugin.getConfigManager().getFastModeKickMessage();
+            Bukkit.getOnlinePlayers().forEach(p -> {
+                if (!p.hasPermission("hypergen.bypass")) {
+                    p.kickPlayer(kickMessage);
+                }
+            });
+        }
         
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("mode", mode.name().toLowerCase());
@@ -232,7 +252,6 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
         }
         
         plugin.getTaskManager().cancelTask(world);
-        plugin.getStatisticsManager().recordTaskCancel(world);
         player.sendMessage(plugin.getConfigManager().getMessage("task-cancelled"));
     }
     
@@ -314,11 +333,12 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
         }
         
         try {
-            int radius = Integer.parseInt(args[1]);
-            plugin.getSelectionManager().setRadius(player, radius);
+            int radiusX = Integer.parseInt(args[1]);
+            int radiusZ = args.length >= 3 ? Integer.parseInt(args[2]) : radiusX;
+            plugin.getSelectionManager().setRadius(player, radiusX, radiusZ);
             
             Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("radius", String.valueOf(radius));
+            placeholders.put("radius", radiusX == radiusZ ? String.valueOf(radiusX) : radiusX + " x " + radiusZ);
             player.sendMessage(plugin.getConfigManager().getMessage("radius-set", placeholders));
         } catch (NumberFormatException e) {
             player.sendMessage(plugin.getConfigManager().getMessage("invalid-number"));
@@ -360,24 +380,63 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
         }
     }
     
-    private void handlePattern(Player player, String[] args) {
-        if (args.length < 2) {
-            player.sendMessage(plugin.getConfigManager().getMessage("invalid-pattern"));
+    private void handlePolygon(Player player, String[] args) {
+        if (args.length >= 2 && args[1].equalsIgnoreCase("add")) {
+            int x = player.getLocation().getBlockX();
+            int z = player.getLocation().getBlockZ();
+            plugin.getSelectionManager().addPolygonPoint(player, x, z);
+            
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("x", String.valueOf(x));
+            placeholders.put("z", String.valueOf(z));
+            placeholders.put("points", String.valueOf(plugin.getSelectionManager().getSelection(player).getVertices().size()));
+            player.sendMessage(plugin.getConfigManager().getMessage("polygon-added", placeholders));
+            return;
+        }
+        
+        if (args.length >= 2 && args[1].equalsIgnoreCase("clear")) {
+            plugin.getSelectionManager().clearPolygon(player);
+            player.sendMessage(plugin.getConfigManager().getMessage("polygon-cleared"));
+            return;
+        }
+        
+        if (args.length < 7 || (args.length - 1) % 2 != 0) {
+            player.sendMessage(plugin.getConfigManager().getMessage("polygon-invalid"));
             return;
         }
         
         try {
-            Selection.Pattern pattern = Selection.Pattern.valueOf(args[1].toUpperCase());
-            plugin.getSelectionManager().setPattern(player, pattern);
+            List<Selection.Vertex> vertices = new ArrayList<>();
+            for (int i = 1; i + 1 < args.length; i += 2) {
+                vertices.add(new Selection.Vertex(Integer.parseInt(args[i]), Integer.parseInt(args[i + 1])));
+            }
+            plugin.getSelectionManager().setPolygon(player, vertices);
             
             Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("pattern", pattern.name().toLowerCase());
-            player.sendMessage(plugin.getConfigManager().getMessage("pattern-set", placeholders));
-        } catch (IllegalArgumentException e) {
-            player.sendMessage(plugin.getConfigManager().getMessage("invalid-pattern"));
+            placeholders.put("points", String.valueOf(vertices.size()));
+            placeholders.put("chunks", String.valueOf(plugin.getSelectionManager().getSelection(player).getTotalChunks()));
+            player.sendMessage(plugin.getConfigManager().getMessage("polygon-set", placeholders));
+        } catch (NumberFormatException e) {
+            player.sendMessage(plugin.getConfigManager().getMessage("invalid-number"));
         }
     }
     
+    private void handlePattern(Player player, String[] args) {
+        if (args.length < 2 || !plugin.getPatternManager().hasPattern(args[1])) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("patterns", String.join(", ", plugin.getPatternManager().getPatternNames()));
+            player.sendMessage(plugin.getConfigManager().getMessage("invalid-pattern", placeholders));
+            return;
+        }
+        
+        String pattern = args[1].toLowerCase();
+        plugin.getSelectionManager().setPattern(player, pattern);
+        
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("pattern", pattern);
+        player.sendMessage(plugin.getConfigManager().getMessage("pattern-set", placeholders));
+    }
+    
     private void handleSelection(Player player) {
         Selection selection = plugin.getSelectionManager().getSelection(player);
         
@@ -397,11 +456,21 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(plugin.getConfigManager().getMessage("selection-center", placeholders));
         
         placeholders.clear();
-        placeholders.put("radius", String.valueOf(selection.getRadius()));
+        placeholders.put("radius", selection.getShape() == Selection.Shape.ELLIPSE
+            ? selection.getRadiusX() + " x " + selection.getRadiusZ() : String.valueOf(selection.getRadius()));
         player.sendMessage(plugin.getConfigManager().getMessage("selection-radius", placeholders));
         
         placeholders.clear();
-        placeholders.put("pattern", selection.getPattern().name().toLowerCase());
+        int baseX = selection.getCenterX() >> 4;
+        int baseZ = selection.getCenterZ() >> 4;
+        placeholders.put("min_x", String.valueOf(baseX + selection.getMinRelX()));
+        placeholders.put("min_z", String.valueOf(baseZ + selection.getMinRelZ()));
+        placeholders.put("max_x", String.valueOf(baseX + selection.getMaxRelX()));
+        placeholders.put("max_z", String.valueOf(baseZ + selection.getMaxRelZ()));
+        player.sendMessage(plugin.getConfigManager().getMessage("selection-bounds", placeholders));
+        
+        placeholders.clear();
+        placeholders.put("pattern", selection.getPattern());
         player.sendMessage(plugin.getConfigManager().getMessage("selection-pattern", placeholders));
         
         placeholders.clear();
@@ -449,6 +518,7 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
         
         for (Map.Entry<World, GenerationTask> entry : tasks.entrySet()) {
             GenerationTask task = entry.getValue();
+            ProgressSnapshot snapshot = task.getSnapshot();
             
             Map<String, String> placeholders = new HashMap<>();
             placeholders.put("world", task.getWorld().getName());
@@ -459,13 +529,22 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(plugin.getConfigManager().getMessage("progress-mode", placeholders));
             
             placeholders.clear();
-            placeholders.put("percent", String.format("%.2f", task.getProgress()));
+            placeholders.put("percent", String.format("%.2f", snapshot.getProgress()));
             player.sendMessage(plugin.getConfigManager().getMessage("progress-percent", placeholders));
             
             placeholders.clear();
-            placeholders.put("current", String.valueOf(task.getCurrentChunk()));
-            placeholders.put("total", String.valueOf(task.getTotalChunks()));
+            placeholders.put("current", String.valueOf(snapshot.getCurrentChunk()));
+            placeholders.put("total", String.valueOf(snapshot.getTotalChunks()));
             player.sendMessage(plugin.getConfigManager().getMessage("progress-chunks", placeholders));
+            
+            ChunkGenerator generator = plugin.getTaskManager().getGenerator(task.getWorld());
+            if (generator != null) {
+                placeholders.clear();
+                placeholders.put("inflight", String.valueOf(generator.getInFlight()));
+                placeholders.put("max", String.valueOf(generator.getMaxInFlight()));
+                placeholders.put("percent", String.format("%.0f", generator.getWindowOccupancy() * 100));
+                player.sendMessage(plugin.getConfigManager().getMessage("progress-window", placeholders));
+            }
         }
         
         player.sendMessage(plugin.getConfigManager().getMessage("progress-footer"));
@@ -495,9 +574,30 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        String worldName = args.length > 1 ? args[1] : player.getWorld().getName();
-        String report = plugin.getStatisticsManager().generateReport(worldName);
-        player.sendMessage(report);
+        String worldName = player.getWorld().getName();
+        String since = null;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase("--since") && i + 1 < args.length) {
+                since = args[++i];
+            } else {
+                worldName = args[i];
+            }
+        }
+        
+        if (since == null) {
+            player.sendMessage(plugin.getStatisticsManager().generateReport(worldName));
+            return;
+        }
+        
+        long range = StatisticsManager.parseDuration(since);
+        if (range <= 0) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("input", since);
+            player.sendMessage(plugin.getConfigManager().getMessage("stats-invalid-duration", placeholders));
+            return;
+        }
+        
+        plugin.getStatisticsManager().sendRangeReport(player, worldName, plugin.getTimeSource().currentTimeMillis() - range, since);
     }
     
     private void handleQueue(Player player, String[] args) {
@@ -617,12 +717,13 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(plugin.getConfigManager().getMessage("list-empty"));
         } else {
             for (GenerationTask task : tasks.values()) {
+                ProgressSnapshot snapshot = task.getSnapshot();
                 Map<String, String> placeholders = new HashMap<>();
                 placeholders.put("world", task.getWorld().getName());
                 placeholders.put("mode", task.getMode().name());
-                placeholders.put("percent", String.format("%.2f", task.getProgress()));
-                placeholders.put("current", String.valueOf(task.getCurrentChunk()));
-                placeholders.put("total", String.valueOf(task.getTotalChunks()));
+                placeholders.put("percent", String.format("%.2f", snapshot.getProgress()));
+                placeholders.put("current", String.valueOf(snapshot.getCurrentChunk()));
+                placeholders.put("total", String.valueOf(snapshot.getTotalChunks()));
                 player.sendMessage(plugin.getConfigManager().getMessage("list-item", placeholders));
             }
         }
@@ -633,14 +734,86 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
     private void handleReload(Player player) {
         plugin.getConfigManager().reload();
         plugin.getNotificationManager().reload();
+        plugin.getMetricsManager().restart();
         player.sendMessage(plugin.getConfigManager().getMessage("reload-success"));
     }
     
-    private void handleTrim(Player player) {
-        player.sendMessage(plugin.getConfigManager().getMessage("trim-started"));
+    private void handleTrim(Player player, String[] args) {
+        if (!player.hasPermission("hypergen.trim")) {
+            player.sendMessage(plugin.getConfigManager().getMessage("no-permission"));
+            return;
+        }
+        
+        Selection selection = plugin.getSelectionManager().getSelection(player);
+        World world = selection.getWorld();
+        if (world == null) {
+            player.sendMessage(plugin.getConfigManager().getMessage("no-world-selected"));
+            return;
+        }
+        
+        if (args.length > 1 && args[1].equalsIgnoreCase("border")) {
+            plugin.getTrimManager().request(player, world, plugin.getTrimManager().borderArea(world), "border");
+            return;
+        }
+        
+        if (!selection.isValid()) {
+            player.sendMessage(plugin.getConfigManager().getMessage("no-world-selected"));
+            return;
+        }
+        
+        plugin.getTrimManager().request(player, world, plugin.getTrimManager().selectionArea(selection), "selection");
+    }
+    
+    private void handleCompact(Player player, String[] args) {
+        if (!player.hasPermission("hypergen.compact")) {
+            player.sendMessage(plugin.getConfigManager().getMessage("no-permission"));
+            return;
+        }
+        
+        Selection selection = plugin.getSelectionManager().getSelection(player);
+        World world = selection.getWorld();
+        if (world == null) {
+            player.sendMessage(plugin.getConfigManager().getMessage("no-world-selected"));
+            return;
+        }
+        
+        boolean all = args.length > 1 && args[1].equalsIgnoreCase("all");
+        if (!all && !selection.isValid()) {
+            player.sendMessage(plugin.getConfigManager().getMessage("no-world-selected"));
+            return;
+        }
+        
+        plugin.getCompactionManager().schedule(player, world, all ? null : plugin.getCompactionManager().regionsOf(selection));
+    }
+    
+    private void handleProfile(Player player, String[] args) {
+        if (!player.hasPermission("hypergen.profile")) {
+            player.sendMessage(plugin.getConfigManager().getMessage("no-permission"));
+            return;
+        }
+        
+        int max = plugin.getConfigManager().getProfileMaxSeconds();
+        int seconds;
+        try {
+            seconds = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        } catch (NumberFormatException e) {
+            seconds = 0;
+        }
+        
+        if (seconds < 1 || seconds > max) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("max", String.valueOf(max));
+            player.sendMessage(plugin.getConfigManager().getMessage("profile-usage", placeholders));
+            return;
+        }
+        
+        plugin.getProfileManager().start(player, seconds);
     }
     
     private void handleConfirm(Player player) {
+        if (plugin.getTrimManager().confirm(player)) {
+            return;
+        }
         handleStart(player, new String[]{"start", "fast"});
     }
     
@@ -653,17 +826,15 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        GenerationTask task = plugin.getTaskManager().getTask(world);
-        long elapsed = task.getElapsedTime();
+        ProgressSnapshot snapshot = plugin.getTaskManager().getTask(world).getSnapshot();
         
-        if (elapsed == 0) {
+        if (snapshot.getElapsedTime() == 0) {
             player.sendMessage("&eSpeed: &f0 chunks/s");
             return;
         }
         
-        double speed = task.getCurrentChunk() / (elapsed / 1000.0);
         Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("speed", String.format("%.2f", speed));
+        placeholders.put("speed", String.format("%.2f", snapshot.getSpeed()));
         player.sendMessage(plugin.getConfigManager().getMessage("progress-speed", placeholders));
     }
     
@@ -676,27 +847,110 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        GenerationTask task = plugin.getTaskManager().getTask(world);
+        long remaining = plugin.getTaskManager().getTask(world).getSnapshot().getEstimatedRemainingTime();
         
-        if (task.getCurrentChunk() == 0) {
+        if (remaining < 0) {
             player.sendMessage("&eETA: &fCalculating...");
             return;
         }
         
-        long elapsed = task.getElapsedTime();
-        double progress = task.getProgress() / 100.0;
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("eta", formatTime(remaining));
+        player.sendMessage(plugin.getConfigManager().getMessage("progress-eta", placeholders));
+    }
+    
+    private void handleEstimate(Player player, String[] args) {
+        Selection selection = plugin.getSelectionManager().getSelection(player);
+        if (!selection.isValid()) {
+            player.sendMessage(plugin.getConfigManager().getMessage("no-world-selected"));
+            return;
+        }
+        
+        GenerationTask.GenerationMode mode = GenerationTask.GenerationMode.NORMAL;
+        try {
+            mode = GenerationTask.GenerationMode.valueOf(plugin.getConfigManager().getDefaultMode().toUpperCase());
+        } catch (IllegalArgumentException ignored) {
+        }
         
-        if (progress == 0) {
-            player.sendMessage("&eETA: &fCalculating...");
+        if (args.length > 1) {
+            try {
+                mode = GenerationTask.GenerationMode.valueOf(args[1].toUpperCase());
+            } catch (IllegalArgumentException e) {
+                player.sendMessage(plugin.getConfigManager().getMessage("invalid-mode"));
+                return;
+            }
+        }
+        
+        if (!estimating.add(player.getUniqueId())) {
+            player.sendMessage(plugin.getConfigManager().getMessage("estimate-running"));
             return;
         }
         
-        long totalEstimated = (long) (elapsed / progress);
-        long remaining = totalEstimated - elapsed;
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("samples", String.valueOf(plugin.getConfigManager().getEstimateSamples()));
+        player.sendMessage(plugin.getConfigManager().getMessage("estimate-started", placeholders));
+        
+        UUID playerId = player.getUniqueId();
+        new TaskEstimator(plugin, selection, mode).run().whenComplete((estimate, throwable) -> {
+            estimating.remove(playerId);
+            if (throwable != null) {
+                plugin.getLogger().warning("Estimate failed: " + throwable.getMessage());
+                plugin.getSchedulerAdapter().run(() -> {
+                    if (player.isOnline()) {
+                        player.sendMessage(plugin.getConfigManager().getMessage("estimate-failed"));
+                    }
+                });
+                return;
+            }
+            plugin.getSchedulerAdapter().run(() -> sendEstimate(player, estimate));
+        });
+    }
+    
+    private void sendEstimate(Player player, Estimate estimate) {
+        if (!player.isOnline()) {
+            return;
+        }
+        
+        player.sendMessage(plugin.getConfigManager().getMessage("estimate-header"));
         
         Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("eta", formatTime(remaining));
-        player.sendMessage(plugin.getConfigManager().getMessage("progress-eta", placeholders));
+        placeholders.put("total", String.valueOf(estimate.getTotalChunks()));
+        placeholders.put("todo", String.valueOf(estimate.getChunksToGenerate()));
+        placeholders.put("sampled", String.valueOf(estimate.getSampledChunks()));
+        player.sendMessage(plugin.getConfigManager().getMessage("estimate-chunks", placeholders));
+        
+        placeholders.clear();
+        long time = estimate.getEstimatedTime();
+        placeholders.put("eta", time >= 0 ? formatTime(time) : "?");
+        placeholders.put("speed", String.format("%.2f", estimate.getChunksPerSecond()));
+        placeholders.put("latency", String.format("%.1f", estimate.getMeanLatencyMillis()));
+        player.sendMessage(plugin.getConfigManager().getMessage("estimate-time", placeholders));
+        
+        if (estimate.getHistoricalTime() >= 0) {
+            placeholders.clear();
+            placeholders.put("eta", formatTime(estimate.getHistoricalTime()));
+            placeholders.put("speed", String.format("%.2f", estimate.getHistoricalChunksPerSecond()));
+            player.sendMessage(plugin.getConfigManager().getMessage("estimate-history", placeholders));
+        }
+        
+        placeholders.clear();
+        placeholders.put("size", estimate.getDiskGrowth() >= 0 ? formatBytes(estimate.getDiskGrowth()) : "?");
+        player.sendMessage(plugin.getConfigManager().getMessage("estimate-disk", placeholders));
+        
+        placeholders.clear();
+        placeholders.put("memory", formatBytes(estimate.getPeakMemoryBytes()));
+        placeholders.put("max", formatBytes(Runtime.getRuntime().maxMemory()));
+        player.sendMessage(plugin.getConfigManager().getMessage("estimate-memory", placeholders));
+    }
+    
+    private String formatBytes(long bytes) {
+        if (bytes >= 1L << 30) {
+            return String.format("%.2f GB", bytes / (double) (1L << 30));
+        } else if (bytes >= 1L << 20) {
+            return String.format("%.1f MB", bytes / (double) (1L << 20));
+        } else {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
     }
     
     private String formatTime(long millis) {
@@ -726,6 +980,7 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(plugin.getConfigManager().getMessage("help-worldborder"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-spawn"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-corners"));
+        player.sendMessage(plugin.getConfigManager().getMessage("help-polygon"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-pattern"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-selection"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-progress"));
@@ -736,11 +991,14 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(plugin.getConfigManager().getMessage("help-quiet"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-speed"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-eta"));
+        player.sendMessage(plugin.getConfigManager().getMessage("help-estimate"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-info"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-version"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-list"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-reload"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-trim"));
+        player.sendMessage(plugin.getConfigManager().getMessage("help-compact"));
+        player.sendMessage(plugin.getConfigManager().getMessage("help-profile"));
         player.sendMessage(plugin.getConfigManager().getMessage("help-footer"));
     }
     
@@ -750,26 +1008,49 @@ public class HyperGenCommand implements CommandExecutor, TabCompleter {
         
         if (args.length == 1) {
             completions.addAll(Arrays.asList("start", "pause", "continue", "cancel", "world", 
-                    "shape", "center", "radius", "worldborder", "spawn", "corners", "pattern", 
+                    "shape", "center", "radius", "worldborder", "spawn", "corners", "polygon", "pattern", 
                     "selection", "silent", "quiet", "progress", "map", "stats", "queue", 
-                    "info", "version", "list", "reload", "trim", "speed", "eta", "help"));
+                    "info", "version", "list", "reload", "trim", "compact", "profile", "speed", "eta", "estimate", "help"));
         } else if (args.length == 2) {
             switch (args[0].toLowerCase()) {
                 case "world":
                     Bukkit.getWorlds().forEach(w -> completions.add(w.getName()));
                     break;
                 case "shape":
-                    completions.addAll(Arrays.asList("square", "circle"));
+                    completions.addAll(Arrays.asList("square", "circle", "rectangle", "ellipse", "polygon"));
                     break;
                 case "pattern":
-                    completions.addAll(Arrays.asList("spiral", "concentric"));
+                    completions.addAll(plugin.getPatternManager().getPatternNames());
                     break;
                 case "start":
-                    completions.addAll(Arrays.asList("normal", "pro", "fast"));
+                case "estimate":
+                    completions.addAll(Arrays.asList("normal", "pro", "fast", "adaptive"));
                     break;
                 case "queue":
                     completions.addAll(Arrays.asList("add", "remove", "list", "clear"));
                     break;
+                case "polygon":
+                    completions.addAll(Arrays.asList("add", "clear"));
+                    break;
+                case "trim":
+                    completions.addAll(Arrays.asList("selection", "border"));
+                    break;
+                case "compact":
+                    completions.addAll(Arrays.asList("selection", "all"));
+                    break;
+                case "profile":
+                    completions.addAll(Arrays.asList("30", "60", "120"));
+                    break;
+                case "stats":
+                    Bukkit.getWorlds().forEach(w -> completions.add(w.getName()));
+                    completions.add("--since");
+                    break;
+            }
+        } else if (args[0].equalsIgnoreCase("stats")) {
+            if (args[args.length - 2].equalsIgnoreCase("--since")) {
+                completions.addAll(Arrays.asList("1h", "1d", "7d", "30d"));
+            } else {
+                completions.add("--since");
             }
         }
         
@@ -0,0 +1,266 @@
+package ir.hypergen.manager;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.Selection;
+import ir.hypergen.model.TaskCheckpoint;
+import ir.hypergen.util.ChunkBitmap;
+import ir.hypergen.util.ChunkGenerator;
+import ir.hypergen.util.TaskHandle;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class CheckpointManager {
+    private static final int MAGIC = 0x48474350;
+    private static final int VERSION = 1;
+    
+    private final HyperGen plugin;
+    private final File folder;
+    private TaskHandle checkpointTask;
+    
+    public CheckpointManager(HyperGen plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "tasks");
+    }
+    
+    public void start() {
+        if (!plugin.getConfig().getBoolean("checkpoint.enabled", true)) {
+            return;
+        }
+        
+        long interval = Math.max(1, plugin.getConfig().getInt("checkpoint.interval", 60)) * 20L;
+        checkpointTask = plugin.getSchedulerAdapter().runTimer(this::checkpointAll, interval, interval);
+    }
+    
+    public void checkpointAll() {
+        List<TaskCheckpoint> checkpoints = new ArrayList<>();
+        for (Map.Entry<World, GenerationTask> entry : plugin.getTaskManager().getAllTasks().entrySet()) {
+            ChunkGenerator generator = plugin.getTaskManager().getGenerator(entry.getKey());
+            if (generator != null) {
+                checkpoints.add(createCheckpoint(entry.getValue(), generator));
+            }
+        }
+        
+        if (!checkpoints.isEmpty()) {
+            plugin.getSchedulerAdapter().runAsync(() -> checkpoints.forEach(this::write));
+        }
+    }
+    
+    public void saveAll(Map<World, GenerationTask> tasks, Map<World, ChunkGenerator> generators) {
+        if (!plugin.getConfig().getBoolean("checkpoint.enabled", true)) {
+            return;
+        }
+        
+        tasks.forEach((world, task) -> {
+            ChunkGenerator generator = generators.get(world);
+            if (generator != null) {
+                write(createCheckpoint(task, generator));
+            }
+        });
+    }
+    
+    private TaskCheckpoint createCheckpoint(GenerationTask task, ChunkGenerator generator) {
+        ChunkBitmap completed = new ChunkBitmap();
+        ChunkBitmap restored = generator.getRestoredChunks();
+        if (restored != null) {
+            completed.addAll(restored);
+        }
+        completed.addAll(task.getProcessedChunks().snapshot());
+        
+        World world = task.getWorld();
+        return new TaskCheckpoint(world.getUID(), world.getName(), task.getMode(), task.getSelection(),
+            task.getElapsedTime(), completed);
+    }
+    
+    private synchronized void write(TaskCheckpoint checkpoint) {
+        boolean active = plugin.getTaskManager().getAllTasks().keySet().stream()
+            .anyMatch(world -> world.getUID().equals(checkpoint.getWorldId()));
+        if (!active) {
+            return;
+        }
+        
+        File file = getFile(checkpoint.getWorldId());
+        File temp = new File(folder, file.getName() + ".tmp");
+        
+        try {
+            folder.mkdirs();
+            
+            try (FileOutputStream fos = new FileOutputStream(temp)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(fos)));
+                writeCheckpoint(out, checkpoint);
+                out.flush();
+                out.close();
+            }
+            
+            try (FileOutputStream sync = new FileOutputStream(temp, true)) {
+                sync.getFD().sync();
+            }
+            
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write checkpoint for world '" + checkpoint.getWorldName() + "': " + e.getMessage());
+            temp.delete();
+        }
+    }
+    
+    private void writeCheckpoint(DataOutputStream out, TaskCheckpoint checkpoint) throws IOException {
+        Selection selection = checkpoint.getSelection();
+        
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(checkpoint.getWorldId().getMostSignificantBits());
+        out.writeLong(checkpoint.getWorldId().getLeastSignificantBits());
+        out.writeUTF(checkpoint.getWorldName());
+        out.writeUTF(checkpoint.getMode().name());
+        out.writeUTF(selection.getShape().name());
+        out.writeUTF(selection.getPattern());
+        out.writeInt(selection.getCenterX());
+        out.writeInt(selection.getCenterZ());
+        out.writeInt(selection.getRadius());
+        out.writeInt(selection.getRadiusX());
+        out.writeInt(selection.getRadiusZ());
+        out.writeInt(selection.getMinChunkX());
+        out.writeInt(selection.getMinChunkZ());
+        out.writeInt(selection.getMaxChunkX());
+        out.writeInt(selection.getMaxChunkZ());
+        out.writeInt(selection.getVertices().size());
+        for (Selection.Vertex vertex : selection.getVertices()) {
+            out.writeInt(vertex.getX());
+            out.writeInt(vertex.getZ());
+        }
+        out.writeLong(checkpoint.getElapsedTime());
+        
+        Map<Long, long[]> regions = checkpoint.getCompletedChunks().getRegions();
+        out.writeInt(regions.size());
+        for (Map.Entry<Long, long[]> entry : regions.entrySet()) {
+            out.writeInt(ChunkBitmap.regionX(entry.getKey()));
+            out.writeInt(ChunkBitmap.regionZ(entry.getKey()));
+            for (long word : entry.getValue()) {
+                out.writeLong(word);
+            }
+        }
+    }
+    
+    private TaskCheckpoint read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a HyperGen checkpoint");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported checkpoint version " + version);
+            }
+            
+            UUID worldId = new UUID(in.readLong(), in.readLong());
+            String worldName = in.readUTF();
+            GenerationTask.GenerationMode mode = GenerationTask.GenerationMode.valueOf(in.readUTF());
+            
+            Selection selection = new Selection();
+            selection.setShape(Selection.Shape.valueOf(in.readUTF()));
+            selection.setPattern(in.readUTF().toLowerCase());
+            selection.setCenterX(in.readInt());
+            selection.setCenterZ(in.readInt());
+            selection.setRadius(in.readInt());
+            readGeometry(in, selection);
+            long elapsedTime = in.readLong();
+            
+            ChunkBitmap completed = new ChunkBitmap();
+            int regionCount = in.readInt();
+            for (int i = 0; i < regionCount; i++) {
+                int regionX = in.readInt();
+                int regionZ = in.readInt();
+                long[] bits = new long[ChunkBitmap.WORDS_PER_REGION];
+                for (int j = 0; j < bits.length; j++) {
+                    bits[j] = in.readLong();
+                }
+                completed.setRegion(regionX, regionZ, bits);
+            }
+            
+            return new TaskCheckpoint(worldId, worldName, mode, selection, elapsedTime, completed);
+        }
+    }
+    
+    private void readGeometry(DataInputStream in, Selection selection) throws IOException {
+        selection.setRadiusX(in.readInt());
+        selection.setRadiusZ(in.readInt());
+        selection.setMinChunkX(in.readInt());
+        selection.setMinChunkZ(in.readInt());
+        selection.setMaxChunkX(in.readInt());
+        selection.setMaxChunkZ(in.readInt());
+        
+        int vertexCount = in.readInt();
+        List<Selection.Vertex> vertices = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            vertices.add(new Selection.Vertex(in.readInt(), in.readInt()));
+        }
+        
+        if (selection.getShape() == Selection.Shape.POLYGON) {
+            int centerX = selection.getCenterX();
+            int centerZ = selection.getCenterZ();
+            selection.setPolygon(vertices);
+            selection.setCenterX(centerX);
+            selection.setCenterZ(centerZ);
+        } else {
+            selection.setVertices(vertices);
+        }
+    }
+    
+    public void resumeTasks() {
+        if (!plugin.getConfig().getBoolean("checkpoint.enabled", true)
+            || !plugin.getConfig().getBoolean("checkpoint.auto-resume", true)) {
+            return;
+        }
+        
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".dat"));
+        if (files == null) {
+            return;
+        }
+        
+        for (File file : files) {
+            TaskCheckpoint checkpoint;
+            try {
+                checkpoint = read(file);
+            } catch (IOException | IllegalArgumentException e) {
+                plugin.getLogger().warning("Ignoring unreadable checkpoint " + file.getName() + ": " + e.getMessage());
+                continue;
+            }
+            
+            World world = Bukkit.getWorld(checkpoint.getWorldId());
+            if (world == null) {
+                plugin.getLogger().warning("Cannot resume task for world '" + checkpoint.getWorldName() + "': world is not loaded");
+                continue;
+            }
+            
+            checkpoint.getSelection().setWorld(world);
+            plugin.getTaskManager().resumeTask(world, checkpoint);
+        }
+    }
+    
+    public synchronized void delete(World world) {
+        File file = getFile(world.getUID());
+        if (file.exists() && !file.delete()) {
+            plugin.getLogger().warning("Failed to delete checkpoint for world '" + world.getName() + "'");
+        }
+    }
+    
+    private File getFile(UUID worldId) {
+        return new File(folder, worldId + ".dat");
+    }
+    
+    public void shutdown() {
+        if (checkpointTask != null) {
+            checkpointTask.cancel();
+            checkpointTask = null;
+        }
+    }
+}
\ No newline at end of file
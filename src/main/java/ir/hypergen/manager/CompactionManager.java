@@ -0,0 +1,64 @@
+package ir.hypergen.manager;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.model.Selection;
+import ir.hypergen.util.ChunkBitmap;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class CompactionManager {
+    private final HyperGen plugin;
+    
+    public CompactionManager(HyperGen plugin) {
+        this.plugin = plugin;
+    }
+    
+    public void scheduleAfterGeneration(World world, Selection selection) {
+        if (!plugin.getConfigManager().isCompactionAfterGeneration()) {
+            return;
+        }
+        
+        schedule(null, world, regionsOf(selection));
+    }
+    
+    public void schedule(CommandSender sender, World world, Set<Long> targets) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("world", world.getName());
+        
+        try {
+            plugin.getMaintenanceManager().scheduleCompaction(world, targets);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to schedule compaction of world '" + world.getName() + "': " + e.getMessage());
+            placeholders.put("error", e.getMessage());
+            send(sender, "compact-failed", placeholders);
+            return;
+        }
+        
+        plugin.getLogger().info("Compaction of world '" + world.getName() + "' will run on the next server start");
+        send(sender, "compact-scheduled", placeholders);
+    }
+    
+    public Set<Long> regionsOf(Selection selection) {
+        int baseX = selection.getCenterX() >> 4;
+        int baseZ = selection.getCenterZ() >> 4;
+        Set<Long> regions = new HashSet<>();
+        for (int regionX = (baseX + selection.getMinRelX()) >> 5; regionX <= (baseX + selection.getMaxRelX()) >> 5; regionX++) {
+            for (int regionZ = (baseZ + selection.getMinRelZ()) >> 5; regionZ <= (baseZ + selection.getMaxRelZ()) >> 5; regionZ++) {
+                regions.add(ChunkBitmap.regionKey(regionX, regionZ));
+            }
+        }
+        return regions;
+    }
+    
+    private void send(CommandSender sender, String key, Map<String, String> placeholders) {
+        if (sender != null) {
+            sender.sendMessage(plugin.getConfigManager().getMessage(key, placeholders));
+        }
+    }
+}
\ No newline at end of file
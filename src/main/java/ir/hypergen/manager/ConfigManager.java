@@ -34,7 +34,10 @@ public class ConfigManager {
     }
     
     public String getMessage(String key, Map<String, String> placeholders) {
-        String message = getMessage(key);
+        return applyPlaceholders(getMessage(key), placeholders);
+    }
+    
+    public static String applyPlaceholders(String message, Map<String, String> placeholders) {
         for (Map.Entry<String, String> entry : placeholders.entrySet()) {
             message = message.replace("{" + entry.getKey() + "}", entry.getValue());
         }
@@ -70,12 +73,24 @@ public class ConfigManager {
         return plugin.getConfig().getInt("normal-mode.chunks-per-second", 20);
     }
     
-    public double getProModeTargetTPS() {
-        return plugin.getConfig().getDouble("pro-mode.target-tps", 19.0);
+    public double getProModeTargetMspt() {
+        return plugin.getConfig().getDouble("pro-mode.target-mspt", 40.0);
     }
     
-    public double getProModeMinTPS() {
-        return plugin.getConfig().getDouble("pro-mode.min-tps", 18.0);
+    public double getProModeP95Weight() {
+        return Math.max(0.0, Math.min(1.0, plugin.getConfig().getDouble("pro-mode.p95-weight", 0.5)));
+    }
+    
+    public double getProModeKp() {
+        return plugin.getConfig().getDouble("pro-mode.pid.kp", 0.4);
+    }
+    
+    public double getProModeKi() {
+        return plugin.getConfig().getDouble("pro-mode.pid.ki", 0.8);
+    }
+    
+    public double getProModeKd() {
+        return plugin.getConfig().getDouble("pro-mode.pid.kd", 0.02);
     }
     
     public int getProModeMaxChunksPerTick() {
@@ -90,6 +105,22 @@ public class ConfigManager {
         return plugin.getConfig().getInt("fast-mode.chunks-per-tick", 16);
     }
     
+    public int getAdaptiveMinInFlight() {
+        return plugin.getConfig().getInt("adaptive-mode.min-in-flight", 4);
+    }
+    
+    public double getAdaptiveIncrease() {
+        return plugin.getConfig().getDouble("adaptive-mode.additive-increase", 1.0);
+    }
+    
+    public double getAdaptiveDecrease() {
+        return plugin.getConfig().getDouble("adaptive-mode.multiplicative-decrease", 0.7);
+    }
+    
+    public double getAdaptiveLatencyTolerance() {
+        return plugin.getConfig().getDouble("adaptive-mode.latency-tolerance", 2.0);
+    }
+    
     public boolean isFastModeDisableSpawning() {
         return plugin.getConfig().getBoolean("fast-mode.disable-spawning", true);
     }
@@ -106,6 +137,115 @@ public class ConfigManager {
         return colorize(plugin.getConfig().getString("fast-mode.kick-message", "Server is processing chunks"));
     }
     
+    public int getMaxConcurrentChunks() {
+        return plugin.getConfig().getInt("performance.max-concurrent-chunks", 100);
+    }
+    
+    public int getMaxResidentChunks() {
+        return plugin.getConfig().getInt("performance.max-resident-chunks", 2048);
+    }
+    
+    public int getUnloadBatchSize() {
+        return plugin.getConfig().getInt("performance.unload-batch-size", 64);
+    }
+    
+    public int getRetryMaxAttempts() {
+        return Math.max(1, plugin.getConfig().getInt("performance.retry.max-attempts", 5));
+    }
+    
+    public long getRetryBaseDelay() {
+        return Math.max(1, plugin.getConfig().getLong("performance.retry.base-delay-ms", 250));
+    }
+    
+    public long getRetryMaxDelay() {
+        return Math.max(1, plugin.getConfig().getLong("performance.retry.max-delay-ms", 10000));
+    }
+    
+    public boolean isPrescanEnabled() {
+        return plugin.getConfig().getBoolean("performance.prescan.enabled", true);
+    }
+    
+    public boolean isPrescanVerifyStatus() {
+        return plugin.getConfig().getBoolean("performance.prescan.verify-status", true);
+    }
+    
+    public int getGlobalChunksPerTick() {
+        return plugin.getConfig().getInt("scheduler.global-chunks-per-tick", 48);
+    }
+    
+    public long getTickBudgetNanos() {
+        return (long) (plugin.getConfig().getDouble("scheduler.tick-budget-ms", 3.0) * 1_000_000L);
+    }
+    
+    public long getMaxCarryNanos() {
+        return (long) (plugin.getConfig().getDouble("scheduler.max-carry-ms", 6.0) * 1_000_000L);
+    }
+    
+    public double getSchedulerWeight(String world) {
+        double defaultWeight = plugin.getConfig().getDouble("scheduler.default-weight", 1.0);
+        return plugin.getConfig().getDouble("scheduler.weights." + world, defaultWeight);
+    }
+    
+    public int getTrimThreads() {
+        return Math.max(1, plugin.getConfig().getInt("trim.threads", 4));
+    }
+    
+    public boolean isCompactionAfterGeneration() {
+        return plugin.getConfig().getBoolean("compaction.after-generation", false);
+    }
+    
+    public int getCompactionThreads() {
+        return Math.max(1, plugin.getConfig().getInt("compaction.threads", 4));
+    }
+    
+    public int getEstimateSamples() {
+        return Math.max(1, plugin.getConfig().getInt("estimate.samples", 32));
+    }
+    
+    public long getEstimateDiskWaitSeconds() {
+        return Math.max(1, plugin.getConfig().getLong("estimate.disk-wait-seconds", 5));
+    }
+    
+    public boolean isMetricsEnabled() {
+        return plugin.getConfig().getBoolean("metrics.enabled", false);
+    }
+    
+    public String getMetricsHost() {
+        return plugin.getConfig().getString("metrics.host", "127.0.0.1");
+    }
+    
+    public int getMetricsPort() {
+        return plugin.getConfig().getInt("metrics.port", 9225);
+    }
+    
+    public String getProfileSettings() {
+        return plugin.getConfig().getString("profile.settings", "profile");
+    }
+    
+    public int getProfileMaxSeconds() {
+        return Math.max(1, plugin.getConfig().getInt("profile.max-seconds", 300));
+    }
+    
+    public long getProfileSamplePeriod() {
+        return Math.max(1, plugin.getConfig().getLong("profile.sample-period-ms", 10));
+    }
+    
+    public long getStatisticsFsyncInterval() {
+        return Math.max(10, plugin.getConfig().getLong("statistics.fsync-interval-ms", 1000));
+    }
+    
+    public long getStatisticsSegmentMaxBytes() {
+        return Math.max(64, plugin.getConfig().getLong("statistics.segment-max-kb", 4096)) * 1024L;
+    }
+    
+    public long getStatisticsMinuteRollupMillis() {
+        return Math.max(1, plugin.getConfig().getLong("statistics.minute-rollup-after-hours", 24)) * 3_600_000L;
+    }
+    
+    public long getStatisticsHourRollupMillis() {
+        return Math.max(1, plugin.getConfig().getLong("statistics.hourly-rollup-after-days", 30)) * 86_400_000L;
+    }
+    
     public String getDefaultMode() {
         return plugin.getConfig().getString("default-mode", "normal");
     }
@@ -0,0 +1,118 @@
+package ir.hypergen.manager;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.util.ChunkGenerator;
+import lombok.Getter;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GenerationScheduler {
+    private final HyperGen plugin;
+    private final Map<World, Entry> entries;
+    private int rotation;
+    @Getter
+    private int lastIssued;
+    
+    public GenerationScheduler(HyperGen plugin) {
+        this.plugin = plugin;
+        this.entries = new LinkedHashMap<>();
+        this.rotation = 0;
+        this.lastIssued = 0;
+    }
+    
+    public void add(World world, ChunkGenerator generator) {
+        entries.put(world, new Entry(generator, plugin.getConfigManager().getSchedulerWeight(world.getName())));
+    }
+    
+    public void remove(World world) {
+        entries.remove(world);
+    }
+    
+    public void clear() {
+        entries.clear();
+    }
+    
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+    
+    public double getWeight(World world) {
+        Entry entry = entries.get(world);
+        return entry != null ? entry.getWeight() : 0;
+    }
+    
+    public int tick(long deadline) {
+        int budget = Math.max(1, plugin.getConfigManager().getGlobalChunksPerTick());
+        List<Entry> active = new ArrayList<>();
+        double totalWeight = 0;
+        
+        for (Entry entry : entries.values()) {
+            if (entry.getGenerator().isWaiting()) {
+                entry.setDeficit(0);
+                continue;
+            }
+            active.add(entry);
+            totalWeight += entry.getWeight();
+        }
+        
+        if (active.isEmpty() || totalWeight <= 0) {
+            lastIssued = 0;
+            return 0;
+        }
+        
+        int size = active.size();
+        int offset = rotation++ % size;
+        int remaining = budget;
+        List<Entry> hungry = new ArrayList<>();
+        
+        for (int i = 0; i < size && remaining > 0 && plugin.getTimeSource().nanoTime() < deadline; i++) {
+            Entry entry = active.get((offset + i) % size);
+            entry.setDeficit(Math.min(budget, entry.getDeficit() + budget * entry.getWeight() / totalWeight));
+            
+            int allowed = Math.min(remaining, (int) entry.getDeficit());
+            if (allowed <= 0) {
+                continue;
+            }
+            
+            int issued = entry.getGenerator().processNextBatch(allowed, deadline);
+            remaining -= issued;
+            
+            if (plugin.getTimeSource().nanoTime() >= deadline) {
+                entry.setDeficit(entry.getDeficit() - issued);
+            } else if (issued < allowed) {
+                entry.setDeficit(0);
+            } else {
+                entry.setDeficit(entry.getDeficit() - issued);
+                hungry.add(entry);
+            }
+        }
+        
+        for (int i = 0; i < hungry.size() && remaining > 0 && plugin.getTimeSource().nanoTime() < deadline; i++) {
+            remaining -= hungry.get(i).getGenerator().processNextBatch(remaining, deadline);
+        }
+        
+        lastIssued = budget - remaining;
+        return lastIssued;
+    }
+    
+    @Getter
+    private static class Entry {
+        private final ChunkGenerator generator;
+        private final double weight;
+        private double deficit;
+        
+        Entry(ChunkGenerator generator, double weight) {
+            this.generator = generator;
+            this.weight = Math.max(0.01, weight);
+            this.deficit = 0;
+        }
+        
+        void setDeficit(double deficit) {
+            this.deficit = deficit;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package ir.hypergen.manager;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.model.Selection;
+import ir.hypergen.util.RegionCompactor;
+import ir.hypergen.util.RegionFiles;
+import ir.hypergen.util.RegionTrimmer;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class MaintenanceManager {
+    private final HyperGen plugin;
+    private final File file;
+    
+    public MaintenanceManager(HyperGen plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "maintenance.yml");
+    }
+    
+    public synchronized void scheduleCompaction(World world, Set<Long> regions) throws IOException {
+        YamlConfiguration pending = YamlConfiguration.loadConfiguration(file);
+        String path = "compact." + world.getUID();
+        
+        Set<Long> merged = null;
+        if (regions != null && (!pending.contains(path) || pending.contains(path + ".regions"))) {
+            merged = new HashSet<>(pending.getLongList(path + ".regions"));
+            merged.addAll(regions);
+        }
+        
+        pending.set(path + ".world", world.getName());
+        pending.set(path + ".folders", folderPaths(world));
+        pending.set(path + ".regions", merged != null ? new ArrayList<>(merged) : null);
+        pending.save(file);
+    }
+    
+    public synchronized void scheduleTrim(World world, Selection area) throws IOException {
+        YamlConfiguration pending = YamlConfiguration.loadConfiguration(file);
+        String path = "trim." + world.getUID();
+        ConfigurationSection areas = pending.getConfigurationSection(path + ".areas");
+        int index = areas != null ? areas.getKeys(false).size() : 0;
+        
+        pending.set(path + ".world", world.getName());
+        pending.set(path + ".folders", folderPaths(world));
+        writeArea(pending.createSection(path + ".areas." + index), area);
+        pending.save(file);
+    }
+    
+    public void runPending() {
+        if (!file.exists()) {
+            return;
+        }
+        
+        YamlConfiguration pending = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection trim = pending.getConfigurationSection("trim");
+        if (trim != null) {
+            for (String key : trim.getKeys(false)) {
+                runTrim(trim.getConfigurationSection(key));
+            }
+        }
+        
+        ConfigurationSection compact = pending.getConfigurationSection("compact");
+        if (compact != null) {
+            for (String key : compact.getKeys(false)) {
+                runCompaction(compact.getConfigurationSection(key));
+            }
+        }
+        
+        if (!file.delete()) {
+            plugin.getLogger().warning("Could not delete maintenance.yml, pending jobs will run again on the next start");
+        }
+    }
+    
+    private void runTrim(ConfigurationSection job) {
+        String world = job.getString("world");
+        List<Selection> areas = new ArrayList<>();
+        ConfigurationSection section = job.getConfigurationSection("areas");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                areas.add(readArea(section.getConfigurationSection(key)));
+            }
+        }
+        if (areas.isEmpty()) {
+            return;
+        }
+        
+        RegionTrimmer trimmer = new RegionTrimmer(folders(job), (x, z) -> {
+            for (Selection area : areas) {
+                if (!area.containsChunk(x - (area.getCenterX() >> 4), z - (area.getCenterZ() >> 4))) {
+                    return false;
+                }
+            }
+            return true;
+        }, plugin.getConfigManager().getTrimThreads());
+        
+        plugin.getLogger().info("Trimming world '" + world + "' before it loads...");
+        long start = System.currentTimeMillis();
+        try {
+            RegionTrimmer.Result result = trimmer.trim();
+            plugin.getLogger().info(String.format("Trim of world '%s' finished in %dms: %d chunks removed, %d regions trimmed, %d regions deleted (%.1f MB freed), %d errors",
+                world, System.currentTimeMillis() - start, result.getChunksRemoved().get(), result.getRegionsTrimmed().get(),
+                result.getRegionsDeleted().get(), result.getBytesFreed().get() / (1024.0 * 1024.0), result.getErrors().get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void runCompaction(ConfigurationSection job) {
+        String world = job.getString("world");
+        Set<Long> targets = job.contains("regions") ? new HashSet<>(job.getLongList("regions")) : null;
+        RegionCompactor compactor = new RegionCompactor(folders(job), targets, plugin.getConfigManager().getCompactionThreads());
+        
+        plugin.getLogger().info("Compacting region files of world '" + world + "' before it loads...");
+        long start = System.currentTimeMillis();
+        try {
+            RegionCompactor.Result result = compactor.compact();
+            plugin.getLogger().info(String.format("Compaction of world '%s' finished in %dms: %d of %d regions compacted, %.1f MB saved, %d regions skipped, %d errors",
+                world, System.currentTimeMillis() - start, result.getRegionsCompacted().get(), result.getRegionsScanned().get(),
+                result.getBytesSaved().get() / (1024.0 * 1024.0), result.getRegionsSkipped().get(), result.getErrors().get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void writeArea(ConfigurationSection section, Selection area) {
+        section.set("shape", area.getShape().name());
+        section.set("center-x", area.getCenterX());
+        section.set("center-z", area.getCenterZ());
+        section.set("radius", area.getRadius());
+        section.set("radius-x", area.getRadiusX());
+        section.set("radius-z", area.getRadiusZ());
+        section.set("min-chunk-x", area.getMinChunkX());
+        section.set("min-chunk-z", area.getMinChunkZ());
+        section.set("max-chunk-x", area.getMaxChunkX());
+        section.set("max-chunk-z", area.getMaxChunkZ());
+        List<String> vertices = new ArrayList<>();
+        for (Selection.Vertex vertex : area.getVertices()) {
+            vertices.add(vertex.getX() + "," + vertex.getZ());
+        }
+        section.set("vertices", vertices);
+    }
+    
+    private static Selection readArea(ConfigurationSection section) {
+        Selection area = new Selection();
+        area.setShape(Selection.Shape.valueOf(section.getString("shape", "SQUARE")));
+        area.setRadius(section.getInt("radius"));
+        area.setRadiusX(section.getInt("radius-x"));
+        area.setRadiusZ(section.getInt("radius-z"));
+        area.setMinChunkX(section.getInt("min-chunk-x"));
+        area.setMinChunkZ(section.getInt("min-chunk-z"));
+        area.setMaxChunkX(section.getInt("max-chunk-x"));
+        area.setMaxChunkZ(section.getInt("max-chunk-z"));
+        
+        List<Selection.Vertex> vertices = new ArrayList<>();
+        for (String vertex : section.getStringList("vertices")) {
+            String[] parts = vertex.split(",");
+            vertices.add(new Selection.Vertex(Integer.parseInt(parts[0]), Integer.parseInt(parts[1])));
+        }
+        if (area.getShape() == Selection.Shape.POLYGON) {
+            area.setPolygon(vertices);
+        } else {
+            area.setVertices(vertices);
+        }
+        
+        area.setCenterX(section.getInt("center-x"));
+        area.setCenterZ(section.getInt("center-z"));
+        return area;
+    }
+    
+    private static List<String> folderPaths(World world) {
+        List<String> paths = new ArrayList<>();
+        for (File folder : RegionFiles.getStorageFolders(world)) {
+            paths.add(folder.getAbsolutePath());
+        }
+        return paths;
+    }
+    
+    private static List<File> folders(ConfigurationSection job) {
+        List<File> folders = new ArrayList<>();
+        for (String path : job.getStringList("folders")) {
+            folders.add(new File(path));
+        }
+        return folders;
+    }
+}
\ No newline at end of file
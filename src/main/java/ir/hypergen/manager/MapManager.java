@@ -2,6 +2,8 @@ package ir.hypergen.manager;
 
 import ir.hypergen.HyperGen;
 import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.ProgressSnapshot;
+import ir.hypergen.util.TaskHandle;
 import com.cryptomorin.xseries.XMaterial;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -14,7 +16,6 @@ import org.bukkit.inventory.meta.MapMeta;
 import org.bukkit.map.MapCanvas;
 import org.bukkit.map.MapRenderer;
 import org.bukkit.map.MapView;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
@@ -22,7 +23,7 @@ public class MapManager {
     private final HyperGen plugin;
     private final Map<UUID, MapView> playerMaps;
     private final Map<UUID, Inventory> playerInventories;
-    private final Map<UUID, BukkitTask> refreshTasks;
+    private final Map<UUID, TaskHandle> refreshTasks;
     
     public MapManager(HyperGen plugin) {
         this.plugin = plugin;
@@ -50,30 +51,32 @@ public class MapManager {
             "&7World: &f" + task.getWorld().getName(),
             "&7Mode: &f" + task.getMode().name(),
             "&7Shape: &f" + task.getSelection().getShape().name(),
-            "&7Pattern: &f" + task.getSelection().getPattern().name()
+            "&7Pattern: &f" + task.getSelection().getPattern()
         )));
         
+        ProgressSnapshot snapshot = task.getSnapshot();
+        
         inv.setItem(21, createInfoItem(clockMat, "&e&lProgress", Arrays.asList(
-            "&7Percent: &a" + String.format("%.2f", task.getProgress()) + "%",
-            "&7Chunks: &f" + task.getCurrentChunk() + "/" + task.getTotalChunks(),
-            "&7Elapsed: &f" + formatTime(task.getElapsedTime()),
-            "&7Remaining: &f" + estimateRemainingTime(task)
+            "&7Percent: &a" + String.format("%.2f", snapshot.getProgress()) + "%",
+            "&7Chunks: &f" + snapshot.getCurrentChunk() + "/" + snapshot.getTotalChunks(),
+            "&7Elapsed: &f" + formatTime(snapshot.getElapsedTime()),
+            "&7Remaining: &f" + estimateRemainingTime(snapshot)
         )));
         
         inv.setItem(23, createInfoItem(redstoneMat, "&e&lPerformance", Arrays.asList(
             "&7TPS: &f" + getCurrentTPS(),
             "&7Memory: &f" + getMemoryUsage() + "%",
-            "&7Speed: &f" + calculateSpeed(task) + " chunks/s",
-            "&7Status: " + (task.isPaused() ? "&cPaused" : "&aRunning")
+            "&7Speed: &f" + String.format("%.2f", snapshot.getSpeed()) + " chunks/s",
+            "&7Status: " + (snapshot.isPaused() ? "&cPaused" : "&aRunning")
         )));
         
         inv.setItem(25, createInfoItem(compassMat, "&e&lLocation", Arrays.asList(
             "&7Center: &f" + task.getSelection().getCenterX() + ", " + task.getSelection().getCenterZ(),
-            "&7Radius: &f" + task.getSelection().getRadius() + " chunks",
-            "&7Area: &f" + task.getTotalChunks() + " chunks"
+            "&7Radius: &f" + task.getSelection().getCoveringRadius() + " chunks",
+            "&7Area: &f" + snapshot.getTotalChunks() + " chunks"
         )));
         
-        if (task.isPaused()) {
+        if (snapshot.isPaused()) {
             inv.setItem(45, createActionItem(limeDyeMat, "&a&lContinue", "hypergen-continue"));
         } else {
             inv.setItem(45, createActionItem(orangeDyeMat, "&e&lPause", "hypergen-pause"));
@@ -132,14 +135,14 @@ public class MapManager {
     }
     
     private void startAutoRefresh(Player player, GenerationTask task) {
-        BukkitTask oldTask = refreshTasks.remove(player.getUniqueId());
+        TaskHandle oldTask = refreshTasks.remove(player.getUniqueId());
         if (oldTask != null) {
             oldTask.cancel();
         }
         
-        BukkitTask newTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        TaskHandle newTask = plugin.getSchedulerAdapter().runEntityTimer(player, () -> {
             if (!player.isOnline() || !playerInventories.containsKey(player.getUniqueId())) {
-                BukkitTask t = refreshTasks.remove(player.getUniqueId());
+                TaskHandle t = refreshTasks.remove(player.getUniqueId());
                 if (t != null) t.cancel();
                 return;
             }
@@ -148,7 +151,7 @@ public class MapManager {
             if (player.getOpenInventory().getTopInventory().equals(inv)) {
                 openProgressMap(player, task);
             } else {
-                BukkitTask t = refreshTasks.remove(player.getUniqueId());
+                TaskHandle t = refreshTasks.remove(player.getUniqueId());
                 if (t != null) t.cancel();
             }
         }, 20L, 20L);
@@ -170,16 +173,9 @@ public class MapManager {
         }
     }
     
-    private String estimateRemainingTime(GenerationTask task) {
-        if (task.getCurrentChunk() == 0) return "Calculating...";
-        
-        long elapsed = task.getElapsedTime();
-        double progress = task.getProgress() / 100.0;
-        
-        if (progress == 0) return "Calculating...";
-        
-        long totalEstimated = (long) (elapsed / progress);
-        long remaining = totalEstimated - elapsed;
+    private String estimateRemainingTime(ProgressSnapshot snapshot) {
+        long remaining = snapshot.getEstimatedRemainingTime();
+        if (remaining < 0) return "Calculating...";
         
         return formatTime(remaining);
     }
@@ -201,11 +197,6 @@ public class MapManager {
         return (int) ((used * 100) / max);
     }
     
-    private double calculateSpeed(GenerationTask task) {
-        if (task.getElapsedTime() == 0) return 0;
-        return (double) task.getCurrentChunk() / (task.getElapsedTime() / 1000.0);
-    }
-    
     private String colorize(String text) {
         return ChatColor.translateAlternateColorCodes('&', text);
     }
@@ -213,20 +204,22 @@ public class MapManager {
     public void closeMap(Player player) {
         playerMaps.remove(player.getUniqueId());
         playerInventories.remove(player.getUniqueId());
-        BukkitTask task = refreshTasks.remove(player.getUniqueId());
+        TaskHandle task = refreshTasks.remove(player.getUniqueId());
         if (task != null) {
             task.cancel();
         }
     }
     
     public void shutdown() {
-        refreshTasks.values().forEach(BukkitTask::cancel);
+        refreshTasks.values().forEach(TaskHandle::cancel);
         refreshTasks.clear();
         playerMaps.clear();
         playerInventories.clear();
     }
     
-    private static class ProgressMapRenderer extends MapRenderer {
+    static class ProgressMapRenderer extends MapRenderer {
+        static final int SIZE = 128;
+        
         private final GenerationTask task;
         private boolean rendered = false;
         
@@ -238,34 +231,39 @@ public class MapManager {
         public void render(MapView map, MapCanvas canvas, Player player) {
             if (rendered) return;
             
-            int centerX = 64;
-            int centerZ = 64;
-            int radius = task.getSelection().getRadius();
-            int scale = Math.max(1, radius / 50);
+            byte[] pixels = new byte[SIZE * SIZE];
+            rasterize(task, pixels);
             
-            for (int x = 0; x < 128; x++) {
-                for (int z = 0; z < 128; z++) {
-                    canvas.setPixel(x, z, (byte) 0);
+            for (int x = 0; x < SIZE; x++) {
+                for (int z = 0; z < SIZE; z++) {
+                    canvas.setPixel(x, z, pixels[z * SIZE + x]);
                 }
             }
             
-            Set<GenerationTask.ChunkCoord> processed = task.getProcessedChunks();
+            rendered = true;
+        }
+        
+        static void rasterize(GenerationTask task, byte[] pixels) {
+            int centerX = SIZE / 2;
+            int centerZ = SIZE / 2;
+            int radius = task.getSelection().getCoveringRadius();
+            int scale = Math.max(1, radius / 50);
+            
+            Arrays.fill(pixels, (byte) 0);
             
-            for (GenerationTask.ChunkCoord coord : processed) {
-                int relX = coord.getX() - (task.getSelection().getCenterX() >> 4);
-                int relZ = coord.getZ() - (task.getSelection().getCenterZ() >> 4);
-                
-                int mapX = centerX + (relX / scale);
-                int mapZ = centerZ + (relZ / scale);
+            int originX = task.getSelection().getCenterX() >> 4;
+            int originZ = task.getSelection().getCenterZ() >> 4;
+            
+            task.getProcessedChunks().forEach((x, z) -> {
+                int mapX = centerX + ((x - originX) / scale);
+                int mapZ = centerZ + ((z - originZ) / scale);
                 
-                if (mapX >= 0 && mapX < 128 && mapZ >= 0 && mapZ < 128) {
-                    canvas.setPixel(mapX, mapZ, (byte) 30);
+                if (mapX >= 0 && mapX < SIZE && mapZ >= 0 && mapZ < SIZE) {
+                    pixels[mapZ * SIZE + mapX] = (byte) 30;
                 }
-            }
+            });
             
-            canvas.setPixel(centerX, centerZ, (byte) 14);
-            
-            rendered = true;
+            pixels[centerZ * SIZE + centerX] = (byte) 14;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package ir.hypergen.manager;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ir.hypergen.HyperGen;
+import ir.hypergen.model.GenerationTask;
+import ir.hypergen.util.ChunkGenerator;
+import ir.hypergen.util.LatencyHistogram;
+import ir.hypergen.util.RateWindow;
+import ir.hypergen.util.RegionFiles;
+import lombok.Getter;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MetricsManager {
+    private static final double[] CHUNK_BUCKETS = {1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+    private static final double[] QUEUE_BUCKETS = {0.01, 0.1, 0.5, 1, 5, 10, 50, 100, 500, 1000, 5000, 10000};
+    private static final double[] WORK_BUCKETS = {0.05, 0.1, 0.25, 0.5, 1, 2, 3, 5, 10, 25, 50};
+    private static final double[] TICK_BUCKETS = {10, 20, 30, 40, 50, 60, 75, 100, 200, 500, 1000};
+    
+    private final HyperGen plugin;
+    private final Map<String, WorldMetrics> worlds;
+    @Getter
+    private final LatencyHistogram tickWork;
+    @Getter
+    private final LatencyHistogram tickDuration;
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    public MetricsManager(HyperGen plugin) {
+        this.plugin = plugin;
+        this.worlds = new ConcurrentHashMap<>();
+        this.tickWork = new LatencyHistogram(WORK_BUCKETS);
+        this.tickDuration = new LatencyHistogram(TICK_BUCKETS);
+    }
+    
+    public void start() {
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isMetricsEnabled()) {
+            return;
+        }
+        
+        try {
+            server = HttpServer.create(new InetSocketAddress(config.getMetricsHost(), config.getMetricsPort()), 0);
+            executor = RegionFiles.newWorkerPool("Metrics", 1);
+            server.createContext("/metrics", this::handle);
+            server.setExecutor(executor);
+            server.start();
+            plugin.getLogger().info(String.format("Prometheus metrics available at http://%s:%d/metrics",
+                config.getMetricsHost(), config.getMetricsPort()));
+        } catch (IOException | IllegalArgumentException e) {
+            plugin.getLogger().warning(String.format("Could not start the metrics endpoint on %s:%d: %s",
+                config.getMetricsHost(), config.getMetricsPort(), e.getMessage()));
+            shutdown();
+        }
+    }
+    
+    public void restart() {
+        shutdown();
+        start();
+    }
+    
+    public void shutdown() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+    
+    public WorldMetrics getWorldMetrics(World world) {
+        return worlds.computeIfAbsent(world.getName(), name -> new WorldMetrics());
+    }
+    
+    public void recordQueueWait(World world, long nanos) {
+        getWorldMetrics(world).getQueueWait().record(nanos);
+    }
+    
+    public void recordChunk(World world, long latencyNanos) {
+        WorldMetrics metrics = getWorldMetrics(world);
+        metrics.getLatency().record(latencyNanos);
+        metrics.getGenerated().increment();
+        metrics.getRate().add(1);
+    }
+    
+    public void recordFailure(World world, long latencyNanos) {
+        WorldMetrics metrics = getWorldMetrics(world);
+        metrics.getLatency().record(latencyNanos);
+        metrics.getFailures().increment();
+    }
+    
+    public void recordTick(long workNanos, double lastMspt) {
+        tickWork.record(workNanos);
+        if (lastMspt > 0) {
+            tickDuration.record((long) (lastMspt * 1_000_000L));
+        }
+        
+        long now = plugin.getTimeSource().currentTimeMillis();
+        for (WorldMetrics metrics : worlds.values()) {
+            metrics.getRate().roll(now);
+        }
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    public String render() {
+        StringBuilder out = new StringBuilder(8192);
+        long now = plugin.getTimeSource().currentTimeMillis();
+        
+        header(out, "hypergen_chunk_latency_seconds", "histogram", "Time from a chunk request to its completion callback.");
+        worlds.forEach((world, metrics) -> histogram(out, "hypergen_chunk_latency_seconds", label(world), metrics.getLatency()));
+        
+        header(out, "hypergen_chunk_queue_wait_seconds", "histogram", "Time a chunk that was ready to be requested waited on the in-flight cap, tick budget, memory limit or retry backoff.");
+        worlds.forEach((world, metrics) -> histogram(out, "hypergen_chunk_queue_wait_seconds", label(world), metrics.getQueueWait()));
+        
+        header(out, "hypergen_chunks_generated_total", "counter", "Chunks generated since the server started.");
+        worlds.forEach((world, metrics) -> sample(out, "hypergen_chunks_generated_total", label(world), metrics.getGenerated().sum()));
+        
+        header(out, "hypergen_chunk_failures_total", "counter", "Chunk requests that failed, including ones that were retried.");
+        worlds.forEach((world, metrics) -> sample(out, "hypergen_chunk_failures_total", label(world), metrics.getFailures().sum()));
+        
+        header(out, "hypergen_chunks_per_second", "gauge", "Chunks generated per second over a trailing window.");
+        worlds.forEach((world, metrics) -> {
+            sample(out, "hypergen_chunks_per_second", label(world) + ",window=\"1m\"", metrics.getRate().getRate(now, 60));
+            sample(out, "hypergen_chunks_per_second", label(world) + ",window=\"5m\"", metrics.getRate().getRate(now, 300));
+        });
+        
+        header(out, "hypergen_chunks_in_flight", "gauge", "Chunk requests issued and not yet completed.");
+        StringBuilder progress = new StringBuilder();
+        header(progress, "hypergen_task_progress_ratio", "gauge", "Fraction of the active task that is done.");
+        for (Map.Entry<World, GenerationTask> entry : plugin.getTaskManager().getAllTasks().entrySet()) {
+            String label = label(entry.getKey().getName());
+            ChunkGenerator generator = plugin.getTaskManager().getGenerator(entry.getKey());
+            sample(out, "hypergen_chunks_in_flight", label, generator != null ? generator.getInFlight() : 0);
+            sample(progress, "hypergen_task_progress_ratio", label, entry.getValue().getSnapshot().getProgress() / 100.0);
+        }
+        out.append(progress);
+        
+        header(out, "hypergen_tick_work_seconds", "histogram", "Main thread time HyperGen spent per tick while generating.");
+        histogram(out, "hypergen_tick_work_seconds", "", tickWork);
+        
+        header(out, "hypergen_server_tick_seconds", "histogram", "Full server tick duration observed while generating.");
+        histogram(out, "hypergen_server_tick_seconds", "", tickDuration);
+        return out.toString();
+    }
+    
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+    
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.valueOf(value)).append('\n');
+    }
+    
+    private static void histogram(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        long[] counts = histogram.snapshot();
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            String bound = i < counts.length - 1 ? String.valueOf(histogram.getBound(i) / 1_000_000_000.0) : "+Inf";
+            sample(out, name + "_bucket", prefix + "le=\"" + bound + "\"", cumulative);
+        }
+        sample(out, name + "_sum", labels, histogram.getSumNanos() / 1_000_000_000.0);
+        sample(out, name + "_count", labels, cumulative);
+    }
+    
+    private static String label(String world) {
+        return "world=\"" + world.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+    
+    @Getter
+    public static class WorldMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram(CHUNK_BUCKETS);
+        private final LatencyHistogram queueWait = new LatencyHistogram(QUEUE_BUCKETS);
+        private final LongAdder generated = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final RateWindow rate = new RateWindow(301);
+    }
+}
\ No newline at end of file
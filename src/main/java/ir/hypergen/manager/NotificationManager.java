@@ -2,7 +2,6 @@ package ir.hypergen.manager;
 
 import ir.hypergen.HyperGen;
 import ir.hypergen.model.GenerationTask;
-import org.bukkit.Bukkit;
 
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
@@ -107,7 +106,7 @@ public class NotificationManager {
     }
     
     private void sendDiscordWebhook(String message, int color) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getSchedulerAdapter().runAsync(() -> {
             try {
                 URL url = new URL(discordWebhook);
                 HttpURLConnection conn = (HttpURLConnection) url.openConnection();
@@ -135,7 +134,7 @@ public class NotificationManager {
     }
     
     private void sendCustomWebhook(String message) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getSchedulerAdapter().runAsync(() -> {
             try {
                 URL url = new URL(customWebhook);
                 HttpURLConnection conn = (HttpURLConnection) url.openConnection();
@@ -143,7 +142,7 @@ public class NotificationManager {
                 conn.setRequestProperty("Content-Type", "application/json");
                 conn.setDoOutput(true);
                 
-                String json = String.format("{\"message\":\"%s\"}", 
+                String json = String.format("{\"message\":\"%s\"}",
                     message.replace("\n", "\\n").replace("\"", "\\\""));
                 
                 try (OutputStream os = conn.getOutputStream()) {
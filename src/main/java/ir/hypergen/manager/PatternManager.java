@@ -0,0 +1,79 @@
+package ir.hypergen.manager;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.api.GenerationPattern;
+import ir.hypergen.model.Selection;
+import ir.hypergen.util.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class PatternManager {
+    public static final String DEFAULT_PATTERN = "spiral";
+    
+    private final HyperGen plugin;
+    private final Map<String, GenerationPattern> patterns;
+    
+    public PatternManager(HyperGen plugin) {
+        this.plugin = plugin;
+        this.patterns = new ConcurrentHashMap<>();
+        
+        register(of("spiral", SpiralCursor::new));
+        register(of("concentric", ConcentricCursor::new));
+        register(of("region", RegionCursor::new));
+        register(of("hilbert", HilbertCursor::new));
+        register(of("zorder", MortonCursor::new));
+    }
+    
+    public boolean register(GenerationPattern pattern) {
+        String name = pattern.getName().toLowerCase();
+        return patterns.putIfAbsent(name, pattern) == null;
+    }
+    
+    public boolean unregister(String name) {
+        if (name.equalsIgnoreCase(DEFAULT_PATTERN)) {
+            return false;
+        }
+        return patterns.remove(name.toLowerCase()) != null;
+    }
+    
+    public GenerationPattern getPattern(String name) {
+        return name == null ? null : patterns.get(name.toLowerCase());
+    }
+    
+    public boolean hasPattern(String name) {
+        return getPattern(name) != null;
+    }
+    
+    public ChunkCursor createCursor(Selection selection) {
+        GenerationPattern pattern = getPattern(selection.getPattern());
+        if (pattern == null) {
+            plugin.getLogger().warning("Unknown generation pattern '" + selection.getPattern() + "', falling back to " + DEFAULT_PATTERN);
+            pattern = patterns.get(DEFAULT_PATTERN);
+        }
+        return pattern.createCursor(selection);
+    }
+    
+    public List<String> getPatternNames() {
+        List<String> names = new ArrayList<>(patterns.keySet());
+        names.sort(null);
+        return names;
+    }
+    
+    private static GenerationPattern of(String name, Function<Selection, ChunkCursor> factory) {
+        return new GenerationPattern() {
+            @Override
+            public String getName() {
+                return name;
+            }
+            
+            @Override
+            public ChunkCursor createCursor(Selection selection) {
+                return factory.apply(selection);
+            }
+        };
+    }
+}
\ No newline at end of file
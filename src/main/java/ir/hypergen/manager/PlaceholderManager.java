@@ -2,6 +2,7 @@ package ir.hypergen.manager;
 
 import ir.hypergen.HyperGen;
 import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.ProgressSnapshot;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -75,17 +76,17 @@ public class PlaceholderManager extends PlaceholderExpansion {
                 };
             }
             
+            ProgressSnapshot snapshot = task.getSnapshot();
+            
             return switch (params.toLowerCase()) {
-                case "progress" -> String.format("%.2f", task.getProgress());
-                case "status" -> task.isPaused() ? "Paused" : "Running";
-                case "chunks" -> task.getCurrentChunk() + "/" + task.getTotalChunks();
+                case "progress" -> String.format("%.2f", snapshot.getProgress());
+                case "status" -> snapshot.isPaused() ? "Paused" : "Running";
+                case "chunks" -> snapshot.getCurrentChunk() + "/" + snapshot.getTotalChunks();
                 case "speed" -> {
-                    long elapsed = task.getElapsedTime();
-                    if (elapsed == 0) yield "0";
-                    double speed = task.getCurrentChunk() / (elapsed / 1000.0);
-                    yield String.format("%.2f", speed);
+                    if (snapshot.getElapsedTime() == 0) yield "0";
+                    yield String.format("%.2f", snapshot.getSpeed());
                 }
-                case "eta" -> estimateRemainingTime(task);
+                case "eta" -> estimateRemainingTime(snapshot);
                 case "mode" -> task.getMode().name();
                 default -> null;
             };
@@ -94,16 +95,9 @@ public class PlaceholderManager extends PlaceholderExpansion {
         return null;
     }
     
-    private String estimateRemainingTime(GenerationTask task) {
-        if (task.getCurrentChunk() == 0) return "Calculating...";
-        
-        long elapsed = task.getElapsedTime();
-        double progress = task.getProgress() / 100.0;
-        
-        if (progress == 0) return "Calculating...";
-        
-        long totalEstimated = (long) (elapsed / progress);
-        long remaining = totalEstimated - elapsed;
+    private String estimateRemainingTime(ProgressSnapshot snapshot) {
+        long remaining = snapshot.getEstimatedRemainingTime();
+        if (remaining < 0) return "Calculating...";
         
         return formatTime(remaining);
     }
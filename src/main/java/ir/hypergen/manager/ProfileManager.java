@@ -0,0 +1,139 @@
+package ir.hypergen.manager;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.profiling.BatchEvent;
+import ir.hypergen.profiling.ChunkCompleteEvent;
+import ir.hypergen.profiling.ChunkRequestEvent;
+import ir.hypergen.profiling.MemoryPauseEvent;
+import ir.hypergen.profiling.PrescanEvent;
+import ir.hypergen.profiling.ThrottleEvent;
+import ir.hypergen.util.TaskHandle;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.bukkit.command.CommandSender;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProfileManager {
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("'hypergen-'yyyyMMdd-HHmmss'.jfr'");
+    private static final List<Class<? extends Event>> EVENTS = Arrays.asList(ChunkRequestEvent.class, ChunkCompleteEvent.class,
+        BatchEvent.class, ThrottleEvent.class, MemoryPauseEvent.class, PrescanEvent.class);
+    
+    private final HyperGen plugin;
+    private volatile Recording recording;
+    private volatile Path destination;
+    private TaskHandle stopTask;
+    
+    public ProfileManager(HyperGen plugin) {
+        this.plugin = plugin;
+    }
+    
+    public boolean isRunning() {
+        return recording != null;
+    }
+    
+    public void start(CommandSender sender, int seconds) {
+        if (recording != null) {
+            sender.sendMessage(plugin.getConfigManager().getMessage("profile-running"));
+            return;
+        }
+        
+        File folder = new File(plugin.getDataFolder(), "profiles");
+        Path file = new File(folder, FILE_NAME.format(LocalDateTime.now())).toPath();
+        Recording started;
+        try {
+            Files.createDirectories(folder.toPath());
+            started = new Recording(Configuration.getConfiguration(plugin.getConfigManager().getProfileSettings()));
+            started.setName("HyperGen");
+            started.setToDisk(true);
+            for (Class<? extends Event> type : EVENTS) {
+                started.enable(type).withoutThreshold();
+            }
+            started.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(plugin.getConfigManager().getProfileSamplePeriod()));
+            started.start();
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("error", String.valueOf(e.getMessage()));
+            sender.sendMessage(plugin.getConfigManager().getMessage("profile-failed", placeholders));
+            return;
+        }
+        
+        recording = started;
+        destination = file;
+        
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("seconds", String.valueOf(seconds));
+        sender.sendMessage(plugin.getConfigManager().getMessage("profile-started", placeholders));
+        plugin.getLogger().info(String.format("Recording a %ds JFR profile to %s", seconds, file));
+        
+        stopTask = plugin.getSchedulerAdapter().runLater(() ->
+            plugin.getSchedulerAdapter().runAsync(() -> finish(sender)), seconds * 20L);
+    }
+    
+    private void finish(CommandSender sender) {
+        Path file = destination;
+        Map<String, String> placeholders = new HashMap<>();
+        String key;
+        try {
+            long size = stop();
+            if (size < 0) {
+                return;
+            }
+            placeholders.put("file", plugin.getDataFolder().toPath().relativize(file).toString());
+            placeholders.put("size", String.format("%.1f", size / (1024.0 * 1024.0)));
+            key = "profile-complete";
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write JFR profile " + file + ": " + e.getMessage());
+            placeholders.put("error", String.valueOf(e.getMessage()));
+            key = "profile-failed";
+        }
+        
+        if (plugin.isEnabled()) {
+            plugin.getSchedulerAdapter().run(() -> sender.sendMessage(plugin.getConfigManager().getMessage(key, placeholders)));
+        }
+    }
+    
+    private synchronized long stop() throws IOException {
+        Recording finished = recording;
+        Path file = destination;
+        if (finished == null) {
+            return -1;
+        }
+        
+        try {
+            finished.stop();
+            finished.dump(file);
+            plugin.getLogger().info("JFR profile written to " + file);
+            return Files.size(file);
+        } finally {
+            finished.close();
+            recording = null;
+            destination = null;
+        }
+    }
+    
+    public void shutdown() {
+        if (stopTask != null) {
+            stopTask.cancel();
+            stopTask = null;
+        }
+        
+        try {
+            stop();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write JFR profile on shutdown: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
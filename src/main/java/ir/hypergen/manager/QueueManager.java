@@ -4,10 +4,9 @@ import ir.hypergen.HyperGen;
 import ir.hypergen.model.GenerationTask;
 import ir.hypergen.model.QueuedTask;
 import ir.hypergen.model.Selection;
+import ir.hypergen.util.TaskHandle;
 import lombok.Getter;
-import org.bukkit.Bukkit;
 import org.bukkit.World;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -18,7 +17,7 @@ public class QueueManager {
     @Getter
     private QueuedTask currentTask;
     private boolean processing;
-    private BukkitTask monitorTask;
+    private TaskHandle monitorTask;
     
     public QueueManager(HyperGen plugin) {
         this.plugin = plugin;
@@ -70,7 +69,7 @@ public class QueueManager {
             monitorTask.cancel();
         }
         
-        monitorTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        monitorTask = plugin.getSchedulerAdapter().runTimer(() -> {
             if (currentTask == null) {
                 return;
             }
@@ -7,7 +7,9 @@ import org.bukkit.World;
 import org.bukkit.WorldBorder;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -28,12 +30,15 @@ public class SelectionManager {
             selection.setCenterX(loc.getBlockX());
             selection.setCenterZ(loc.getBlockZ());
             selection.setRadius(100);
+            selection.setRadiusX(100);
+            selection.setRadiusZ(100);
             
             String defaultShape = plugin.getConfigManager().getDefaultShape();
             selection.setShape(Selection.Shape.valueOf(defaultShape.toUpperCase()));
+            selection.fitBoundsToRadius();
             
             String defaultPattern = plugin.getConfigManager().getDefaultPattern();
-            selection.setPattern(Selection.Pattern.valueOf(defaultPattern.toUpperCase()));
+            selection.setPattern(defaultPattern.toLowerCase());
             
             return selection;
         });
@@ -46,12 +51,15 @@ public class SelectionManager {
         selection.setCenterX(spawn.getBlockX());
         selection.setCenterZ(spawn.getBlockZ());
         selection.setRadius(radius);
+        selection.setRadiusX(radius);
+        selection.setRadiusZ(radius);
         
         String defaultShape = plugin.getConfigManager().getDefaultShape();
         selection.setShape(Selection.Shape.valueOf(defaultShape.toUpperCase()));
+        selection.fitBoundsToRadius();
         
         String defaultPattern = plugin.getConfigManager().getDefaultPattern();
-        selection.setPattern(Selection.Pattern.valueOf(defaultPattern.toUpperCase()));
+        selection.setPattern(defaultPattern.toLowerCase());
         
         return selection;
     }
@@ -63,21 +71,62 @@ public class SelectionManager {
     
     public void setShape(Player player, Selection.Shape shape) {
         Selection selection = getSelection(player);
+        Selection.Shape previous = selection.getShape();
         selection.setShape(shape);
+        
+        if (shape == Selection.Shape.ELLIPSE && (selection.getRadiusX() <= 0 || selection.getRadiusZ() <= 0)) {
+            selection.setRadiusX(selection.getRadius());
+            selection.setRadiusZ(selection.getRadius());
+        } else if (shape == Selection.Shape.RECTANGLE && previous != Selection.Shape.RECTANGLE) {
+            selection.fitBoundsToRadius();
+        } else if (shape == Selection.Shape.POLYGON && !selection.getVertices().isEmpty()) {
+            selection.setPolygon(selection.getVertices());
+        }
     }
     
     public void setCenter(Player player, int x, int z) {
         Selection selection = getSelection(player);
-        selection.setCenterX(x);
-        selection.setCenterZ(z);
+        selection.moveTo(x, z);
     }
     
     public void setRadius(Player player, int radius) {
+        setRadius(player, radius, radius);
+    }
+    
+    public void setRadius(Player player, int radiusX, int radiusZ) {
         Selection selection = getSelection(player);
-        selection.setRadius(radius);
+        selection.setRadius(Math.max(radiusX, radiusZ));
+        selection.setRadiusX(radiusX);
+        selection.setRadiusZ(radiusZ);
+        
+        if (selection.getShape() == Selection.Shape.RECTANGLE) {
+            selection.fitBoundsToRadius();
+        } else if (radiusX != radiusZ) {
+            selection.setShape(Selection.Shape.ELLIPSE);
+        }
     }
     
-    public void setPattern(Player player, Selection.Pattern pattern) {
+    public void addPolygonPoint(Player player, int x, int z) {
+        Selection selection = getSelection(player);
+        List<Selection.Vertex> vertices = new ArrayList<>(selection.getVertices());
+        vertices.add(new Selection.Vertex(x, z));
+        selection.setPolygon(vertices);
+    }
+    
+    public void setPolygon(Player player, List<Selection.Vertex> vertices) {
+        Selection selection = getSelection(player);
+        selection.setPolygon(vertices);
+    }
+    
+    public void clearPolygon(Player player) {
+        Selection selection = getSelection(player);
+        selection.setPolygon(new ArrayList<>());
+        if (selection.getShape() == Selection.Shape.POLYGON) {
+            selection.setShape(Selection.Shape.SQUARE);
+        }
+    }
+    
+    public void setPattern(Player player, String pattern) {
         Selection selection = getSelection(player);
         selection.setPattern(pattern);
     }
@@ -89,9 +138,13 @@ public class SelectionManager {
         
         WorldBorder border = world.getWorldBorder();
         Location center = border.getCenter();
+        int radius = (int) (border.getSize() / 2 / 16);
+        selection.setShape(Selection.Shape.SQUARE);
         selection.setCenterX(center.getBlockX());
         selection.setCenterZ(center.getBlockZ());
-        selection.setRadius((int) (border.getSize() / 2 / 16));
+        selection.setRadius(radius);
+        selection.setRadiusX(radius);
+        selection.setRadiusZ(radius);
     }
     
     public void setToSpawn(Player player) {
@@ -100,21 +153,13 @@ public class SelectionManager {
         if (world == null) return;
         
         Location spawn = world.getSpawnLocation();
-        selection.setCenterX(spawn.getBlockX());
-        selection.setCenterZ(spawn.getBlockZ());
+        selection.moveTo(spawn.getBlockX(), spawn.getBlockZ());
     }
     
     public void setCorners(Player player, int x1, int z1, int x2, int z2) {
         Selection selection = getSelection(player);
-        int centerX = (x1 + x2) / 2;
-        int centerZ = (z1 + z2) / 2;
-        int radiusX = Math.abs(x2 - x1) / 2 / 16;
-        int radiusZ = Math.abs(z2 - z1) / 2 / 16;
-        int radius = Math.max(radiusX, radiusZ);
-        
-        selection.setCenterX(centerX);
-        selection.setCenterZ(centerZ);
-        selection.setRadius(radius);
+        selection.setRectangle(x1, z1, x2, z2);
+        selection.setRadius(Math.max(selection.getMaxChunkX() - selection.getMinChunkX(), selection.getMaxChunkZ() - selection.getMinChunkZ()) / 2);
     }
     
     public void clearSelection(Player player) {
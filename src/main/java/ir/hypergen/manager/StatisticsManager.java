@@ -2,84 +2,197 @@ package ir.hypergen.manager;
 
 import ir.hypergen.HyperGen;
 import ir.hypergen.model.GenerationTask;
-import lombok.Data;
-import org.bukkit.Bukkit;
+import ir.hypergen.util.RateWindow;
+import ir.hypergen.util.StatsLog;
+import lombok.Getter;
 import org.bukkit.World;
+import org.bukkit.command.CommandSender;
 
 import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class StatisticsManager {
+    private static final Pattern DURATION = Pattern.compile("(\\d+)([smhdw])");
+    private static final int PEAK_SECONDS = 10;
+    private static final WorldStatistics EMPTY = new WorldStatistics();
+    
     private final HyperGen plugin;
     private final Map<String, WorldStatistics> worldStats;
-    private final File statsFile;
+    private final File legacyFile;
+    private final StatsLog log;
     
     public StatisticsManager(HyperGen plugin) {
         this.plugin = plugin;
         this.worldStats = new ConcurrentHashMap<>();
-        this.statsFile = new File(plugin.getDataFolder(), "statistics.yml");
+        this.legacyFile = new File(plugin.getDataFolder(), "statistics.yml");
+        this.log = new StatsLog(new File(plugin.getDataFolder(), "stats"),
+            plugin.getConfigManager().getStatisticsFsyncInterval(),
+            plugin.getConfigManager().getStatisticsSegmentMaxBytes(),
+            plugin.getConfigManager().getStatisticsMinuteRollupMillis(),
+            plugin.getConfigManager().getStatisticsHourRollupMillis(),
+            plugin.getLogger());
         loadStatistics();
-        startAutoSave();
+        log.open();
+        migrateLegacyStatistics();
     }
     
-    public void recordChunkGeneration(World world, int chunks, long timeMs) {
-        WorldStatistics stats = worldStats.computeIfAbsent(world.getName(), k -> new WorldStatistics());
-        stats.totalChunksGenerated += chunks;
-        stats.totalTimeSpent += timeMs;
-        stats.lastGenerationTime = System.currentTimeMillis();
-        stats.generationSessions++;
-        
-        double speed = (double) chunks / (timeMs / 1000.0);
-        if (speed > stats.peakSpeed) {
-            stats.peakSpeed = speed;
+    public void recordChunkGeneration(World world, int chunks) {
+        WorldStatistics stats = worldStats.get(world.getName());
+        if (stats == null) {
+            stats = worldStats.computeIfAbsent(world.getName(), k -> new WorldStatistics());
         }
-        
-        stats.averageSpeed = (double) stats.totalChunksGenerated / (stats.totalTimeSpent / 1000.0);
+        stats.record(chunks);
     }
     
     public void recordTaskStart(GenerationTask task) {
-        WorldStatistics stats = worldStats.computeIfAbsent(task.getWorld().getName(), k -> new WorldStatistics());
-        stats.currentTask = task;
-        stats.taskStartTime = System.currentTimeMillis();
+        worldStats.computeIfAbsent(task.getWorld().getName(), k -> new WorldStatistics())
+            .startSession(plugin.getTimeSource().currentTimeMillis());
     }
     
     public void recordTaskComplete(World world) {
-        WorldStatistics stats = worldStats.get(world.getName());
-        if (stats != null) {
-            stats.completedTasks++;
-            stats.currentTask = null;
-        }
+        endSession(world.getName(), StatsLog.Outcome.COMPLETED);
     }
     
     public void recordTaskCancel(World world) {
+        endSession(world.getName(), StatsLog.Outcome.CANCELLED);
+    }
+    
+    public void tick(World world, boolean generating) {
         WorldStatistics stats = worldStats.get(world.getName());
         if (stats != null) {
-            stats.cancelledTasks++;
-            stats.currentTask = null;
+            long now = plugin.getTimeSource().currentTimeMillis();
+            stats.update(now, generating);
+            flushSample(world.getName(), stats, now, false);
         }
     }
     
+    private void endSession(String worldName, StatsLog.Outcome outcome) {
+        WorldStatistics stats = worldStats.get(worldName);
+        if (stats == null) {
+            return;
+        }
+        
+        long now = plugin.getTimeSource().currentTimeMillis();
+        stats.update(now, false);
+        flushSample(worldName, stats, now, true);
+        if (stats.endSession(outcome)) {
+            log.appendSession(worldName, stats.sessionStart, now, stats.sessionTime, stats.sessionChunks, outcome);
+        }
+    }
+    
+    private void flushSample(String worldName, WorldStatistics stats, long now, boolean force) {
+        long second = now / 1000;
+        if (!force && second == stats.sampleSecond) {
+            return;
+        }
+        
+        long total = stats.getTotalChunksGenerated();
+        if (total > stats.sampledTotal) {
+            log.appendSample(worldName, stats.sampleSecond, total - stats.sampledTotal, stats.getRate(now, PEAK_SECONDS));
+            stats.sampledTotal = total;
+        }
+        stats.sampleSecond = second;
+    }
+    
+    public double getThroughput(String worldName, int seconds) {
+        WorldStatistics stats = worldStats.get(worldName);
+        return stats != null ? stats.getRate(plugin.getTimeSource().currentTimeMillis(), seconds) : 0;
+    }
+    
     public WorldStatistics getStatistics(String worldName) {
-        return worldStats.getOrDefault(worldName, new WorldStatistics());
+        return worldStats.getOrDefault(worldName, EMPTY);
     }
     
     public Map<String, WorldStatistics> getAllStatistics() {
         return new HashMap<>(worldStats);
     }
     
+    public WorldStatistics queryRange(String worldName, long sinceMillis) throws IOException {
+        WorldStatistics range = new WorldStatistics();
+        log.scan(sinceMillis, new StatsLog.Visitor() {
+            @Override
+            public void sample(String world, long second, int span, long chunks, double peak) {
+                if (world.equals(worldName)) {
+                    range.restoreSample((second + span) * 1000, chunks, peak);
+                }
+            }
+            
+            @Override
+            public void session(String world, long startMillis, long endMillis, long activeMillis, long chunks, StatsLog.Outcome outcome) {
+                if (world.equals(worldName)) {
+                    range.restoreSession(activeMillis, chunks, outcome);
+                }
+            }
+        });
+        range.finishRestore();
+        return range;
+    }
+    
+    public void sendRangeReport(CommandSender sender, String worldName, long sinceMillis, String range) {
+        plugin.getSchedulerAdapter().runAsync(() -> {
+            String report;
+            try {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("world", worldName);
+                placeholders.put("range", range);
+                report = formatReport("stats-range-header", placeholders, queryRange(worldName, sinceMillis), false);
+            } catch (IOException e) {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("error", e.getMessage());
+                report = plugin.getConfigManager().getMessage("stats-range-failed", placeholders);
+            }
+            
+            String message = report;
+            plugin.getSchedulerAdapter().run(() -> sender.sendMessage(message));
+        });
+    }
+    
+    public static long parseDuration(String input) {
+        Matcher matcher = DURATION.matcher(input.toLowerCase());
+        long millis = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            long amount = Long.parseLong(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "s":
+                    millis += amount * 1000L;
+                    break;
+                case "m":
+                    millis += amount * 60_000L;
+                    break;
+                case "h":
+                    millis += amount * 3_600_000L;
+                    break;
+                case "d":
+                    millis += amount * 86_400_000L;
+                    break;
+                case "w":
+                    millis += amount * 604_800_000L;
+                    break;
+            }
+            end = matcher.end();
+        }
+        return end == input.length() && millis > 0 ? millis : -1;
+    }
+    
     public String generateReport(String worldName) {
-        WorldStatistics stats = getStatistics(worldName);
-        StringBuilder report = new StringBuilder();
-        
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("world", worldName);
+        return formatReport("stats-header", placeholders, getStatistics(worldName), true);
+    }
+    
+    private String formatReport(String headerKey, Map<String, String> placeholders, WorldStatistics stats, boolean live) {
+        StringBuilder report = new StringBuilder();
         
-        report.append(plugin.getConfigManager().getMessage("stats-header", placeholders)).append("\n");
+        report.append(plugin.getConfigManager().getMessage(headerKey, placeholders)).append("\n");
         
         placeholders.clear();
-        placeholders.put("chunks", String.valueOf(stats.totalChunksGenerated));
+        placeholders.put("chunks", String.valueOf(stats.getTotalChunksGenerated()));
         report.append(plugin.getConfigManager().getMessage("stats-total-chunks", placeholders)).append("\n");
         
         placeholders.clear();
@@ -106,6 +219,15 @@ public class StatisticsManager {
         placeholders.put("speed", String.format("%.2f", stats.peakSpeed));
         report.append(plugin.getConfigManager().getMessage("stats-peak-speed", placeholders)).append("\n");
         
+        if (live) {
+            long now = plugin.getTimeSource().currentTimeMillis();
+            placeholders.clear();
+            placeholders.put("short", String.format("%.2f", stats.getRate(now, 10)));
+            placeholders.put("medium", String.format("%.2f", stats.getRate(now, 60)));
+            placeholders.put("long", String.format("%.2f", stats.getRate(now, 600)));
+            report.append(plugin.getConfigManager().getMessage("stats-throughput", placeholders)).append("\n");
+        }
+        
         if (stats.lastGenerationTime > 0) {
             SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
             placeholders.clear();
@@ -119,51 +241,66 @@ public class StatisticsManager {
     }
     
     private void loadStatistics() {
-        if (!statsFile.exists()) {
-            return;
-        }
-        
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(statsFile))) {
-            Map<String, WorldStatistics> loaded = (Map<String, WorldStatistics>) ois.readObject();
-            worldStats.putAll(loaded);
+        try {
+            log.scan(0, new StatsLog.Visitor() {
+                @Override
+                public void sample(String world, long second, int span, long chunks, double peak) {
+                    statistics(world).restoreSample((second + span) * 1000, chunks, peak);
+                }
+                
+                @Override
+                public void session(String world, long startMillis, long endMillis, long activeMillis, long chunks, StatsLog.Outcome outcome) {
+                    statistics(world).restoreSession(activeMillis, chunks, outcome);
+                }
+                
+                @Override
+                public void baseline(String world, long chunks, long activeMillis, long timedChunks, int sessions,
+                                     int completed, int cancelled, double peak, long lastGeneration) {
+                    statistics(world).restoreBaseline(chunks, activeMillis, timedChunks, sessions, completed, cancelled, peak, lastGeneration);
+                }
+            });
+            worldStats.values().forEach(WorldStatistics::finishRestore);
             plugin.getLogger().info("Loaded statistics for " + worldStats.size() + " worlds");
-        } catch (Exception e) {
+        } catch (IOException e) {
             plugin.getLogger().warning("Failed to load statistics: " + e.getMessage());
         }
     }
     
-    public void saveStatistics() {
-        try {
-            if (!statsFile.exists()) {
-                statsFile.getParentFile().mkdirs();
-                statsFile.createNewFile();
-            }
-            
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(statsFile))) {
-                Map<String, WorldStatistics> toSave = new HashMap<>();
-                worldStats.forEach((k, v) -> {
-                    WorldStatistics copy = new WorldStatistics();
-                    copy.totalChunksGenerated = v.totalChunksGenerated;
-                    copy.totalTimeSpent = v.totalTimeSpent;
-                    copy.generationSessions = v.generationSessions;
-                    copy.completedTasks = v.completedTasks;
-                    copy.cancelledTasks = v.cancelledTasks;
-                    copy.averageSpeed = v.averageSpeed;
-                    copy.peakSpeed = v.peakSpeed;
-                    copy.lastGenerationTime = v.lastGenerationTime;
-                    toSave.put(k, copy);
-                });
-                oos.writeObject(toSave);
-                plugin.getLogger().info("Saved statistics for " + toSave.size() + " worlds");
-            }
+    private WorldStatistics statistics(String worldName) {
+        return worldStats.computeIfAbsent(worldName, k -> new WorldStatistics());
+    }
+    
+    private void migrateLegacyStatistics() {
+        if (!legacyFile.exists()) {
+            return;
+        }
+        
+        Map<String, WorldStatistics> legacy;
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(legacyFile))) {
+            legacy = (Map<String, WorldStatistics>) ois.readObject();
         } catch (Exception e) {
-            plugin.getLogger().severe("Failed to save statistics: " + e.getMessage());
-            e.printStackTrace();
+            plugin.getLogger().warning("Failed to migrate statistics.yml: " + e.getMessage());
+            return;
+        }
+        
+        long now = plugin.getTimeSource().currentTimeMillis();
+        legacy.forEach((world, old) -> {
+            log.appendBaseline(world, now, old.totalChunksGenerated, old.totalTimeSpent, old.timedChunks, old.generationSessions,
+                old.completedTasks, old.cancelledTasks, old.peakSpeed, old.lastGenerationTime);
+            WorldStatistics stats = statistics(world);
+            stats.restoreBaseline(old.totalChunksGenerated, old.totalTimeSpent, old.timedChunks, old.generationSessions,
+                old.completedTasks, old.cancelledTasks, old.peakSpeed, old.lastGenerationTime);
+            stats.finishRestore();
+        });
+        
+        if (legacyFile.renameTo(new File(legacyFile.getParentFile(), "statistics.yml.migrated"))) {
+            plugin.getLogger().info("Migrated statistics.yml for " + legacy.size() + " worlds to the statistics log");
         }
     }
     
-    private void startAutoSave() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::saveStatistics, 6000L, 6000L);
+    public void shutdown() {
+        new ArrayList<>(worldStats.keySet()).forEach(world -> endSession(world, StatsLog.Outcome.STOPPED));
+        log.close();
     }
     
     private String formatTime(long millis) {
@@ -183,20 +320,155 @@ public class StatisticsManager {
         }
     }
     
-    @Data
+    @Getter
     public static class WorldStatistics implements Serializable {
         private static final long serialVersionUID = 1L;
+        private static final int WINDOW_SECONDS = 601;
+        private static final int PEAK_SECONDS = 10;
+        private static final long MAX_UPDATE_GAP = 1000;
         
         private long totalChunksGenerated;
         private long totalTimeSpent;
+        private long timedChunks;
         private int generationSessions;
         private int completedTasks;
         private int cancelledTasks;
         private double averageSpeed;
         private double peakSpeed;
         private long lastGenerationTime;
-        private long taskStartTime;
         
-        private transient GenerationTask currentTask;
+        private transient LongAdder generated;
+        private transient RateWindow window;
+        private transient boolean sessionActive;
+        private transient long sessionStart;
+        private transient long sessionTime;
+        private transient long sessionChunks;
+        private transient long lastUpdate;
+        private transient long lastTotal;
+        private transient long lastPeakSecond;
+        private transient long sampleSecond;
+        private transient long sampledTotal;
+        
+        public WorldStatistics() {
+            this.generated = new LongAdder();
+            this.window = new RateWindow(WINDOW_SECONDS);
+            this.lastPeakSecond = -1;
+        }
+        
+        public void record(int chunks) {
+            generated.add(chunks);
+            window.add(chunks);
+        }
+        
+        public long getTotalChunksGenerated() {
+            return totalChunksGenerated + generated.sum();
+        }
+        
+        public double getRate(long nowMillis, int seconds) {
+            return window.getRate(nowMillis, seconds);
+        }
+        
+        synchronized void startSession(long nowMillis) {
+            if (!sessionActive) {
+                sessionActive = true;
+                sessionStart = nowMillis;
+                sessionTime = 0;
+                sessionChunks = 0;
+                generationSessions++;
+            }
+            lastUpdate = 0;
+            sampleSecond = nowMillis / 1000;
+            window.roll(nowMillis);
+        }
+        
+        synchronized boolean endSession(StatsLog.Outcome outcome) {
+            boolean ended = sessionActive;
+            if (ended) {
+                if (outcome == StatsLog.Outcome.COMPLETED) {
+                    completedTasks++;
+                } else if (outcome == StatsLog.Outcome.CANCELLED) {
+                    cancelledTasks++;
+                }
+            }
+            sessionActive = false;
+            lastUpdate = 0;
+            return ended;
+        }
+        
+        synchronized void update(long nowMillis, boolean generating) {
+            window.roll(nowMillis);
+            if (generating && lastUpdate > 0) {
+                long elapsed = Math.max(0, Math.min(nowMillis - lastUpdate, MAX_UPDATE_GAP));
+                totalTimeSpent += elapsed;
+                sessionTime += elapsed;
+            }
+            lastUpdate = generating ? nowMillis : 0;
+            
+            long total = getTotalChunksGenerated();
+            if (total > lastTotal) {
+                timedChunks += total - lastTotal;
+                sessionChunks += total - lastTotal;
+                lastTotal = total;
+                lastGenerationTime = nowMillis;
+            }
+            
+            long second = nowMillis / 1000;
+            if (second != lastPeakSecond) {
+                lastPeakSecond = second;
+                peakSpeed = Math.max(peakSpeed, window.getRate(nowMillis, PEAK_SECONDS));
+            }
+            
+            if (totalTimeSpent > 0) {
+                averageSpeed = timedChunks / (totalTimeSpent / 1000.0);
+            }
+        }
+        
+        void restoreSample(long endMillis, long chunks, double peak) {
+            totalChunksGenerated += chunks;
+            peakSpeed = Math.max(peakSpeed, peak);
+            if (chunks > 0) {
+                lastGenerationTime = Math.max(lastGenerationTime, endMillis);
+            }
+        }
+        
+        void restoreSession(long activeMillis, long chunks, StatsLog.Outcome outcome) {
+            totalTimeSpent += activeMillis;
+            timedChunks += chunks;
+            generationSessions++;
+            if (outcome == StatsLog.Outcome.COMPLETED) {
+                completedTasks++;
+            } else if (outcome == StatsLog.Outcome.CANCELLED) {
+                cancelledTasks++;
+            }
+        }
+        
+        void restoreBaseline(long chunks, long activeMillis, long timed, int sessions, int completed, int cancelled, double peak, long lastGeneration) {
+            totalChunksGenerated += chunks;
+            totalTimeSpent += activeMillis;
+            timedChunks += timed;
+            generationSessions += sessions;
+            completedTasks += completed;
+            cancelledTasks += cancelled;
+            peakSpeed = Math.max(peakSpeed, peak);
+            lastGenerationTime = Math.max(lastGenerationTime, lastGeneration);
+        }
+        
+        void finishRestore() {
+            lastTotal = getTotalChunksGenerated();
+            sampledTotal = lastTotal;
+            if (totalTimeSpent > 0) {
+                averageSpeed = timedChunks / (totalTimeSpent / 1000.0);
+            }
+        }
+        
+        private Object readResolve() {
+            WorldStatistics restored = new WorldStatistics();
+            restored.totalChunksGenerated = totalChunksGenerated;
+            restored.completedTasks = completedTasks;
+            restored.cancelledTasks = cancelledTasks;
+            restored.lastGenerationTime = lastGenerationTime;
+            restored.generationSessions = completedTasks + cancelledTasks;
+            return restored;
+        }
     }
 }
\ No newline at end of file
@@ -2,11 +2,13 @@ package ir.hypergen.manager;
 
 import ir.hypergen.HyperGen;
 import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.ProgressSnapshot;
 import ir.hypergen.model.Selection;
+import ir.hypergen.model.TaskCheckpoint;
+import ir.hypergen.profiling.MemoryPauseEvent;
 import ir.hypergen.util.ChunkGenerator;
-import org.bukkit.Bukkit;
+import ir.hypergen.util.TaskHandle;
 import org.bukkit.World;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -15,86 +17,159 @@ import java.util.concurrent.ConcurrentHashMap;
 public class TaskManager {
     private final HyperGen plugin;
     private final Map<World, GenerationTask> activeTasks;
-    private final Map<World, BukkitTask> runningTasks;
     private final Map<World, ChunkGenerator> generators;
+    private final GenerationScheduler scheduler;
     private final Map<World, Long> lastLogTime;
+    private TaskHandle driver;
     private boolean silent;
     private int quietInterval;
     private long lastMemoryCheck;
     private static final long MEMORY_CHECK_INTERVAL = 5000;
+    private static final long TICK_NANOS = 50_000_000L;
+    private long carryNanos;
+    private long lastTickNanos;
     
     public TaskManager(HyperGen plugin) {
         this.plugin = plugin;
         this.activeTasks = new ConcurrentHashMap<>();
-        this.runningTasks = new ConcurrentHashMap<>();
         this.generators = new ConcurrentHashMap<>();
+        this.scheduler = new GenerationScheduler(plugin);
         this.lastLogTime = new ConcurrentHashMap<>();
         this.silent = plugin.getConfig().getBoolean("logging.silent", false);
         this.quietInterval = plugin.getConfig().getInt("logging.interval", 10);
-        this.lastMemoryCheck = System.currentTimeMillis();
+        this.lastMemoryCheck = plugin.getTimeSource().currentTimeMillis();
     }
     
-    public void startTask(World world, Selection selection, GenerationTask.GenerationMode mode) {
+    public boolean startTask(World world, Selection selection, GenerationTask.GenerationMode mode) {
+        return startTask(world, selection, mode, null);
+    }
+    
+    public boolean resumeTask(World world, TaskCheckpoint checkpoint) {
+        return startTask(world, checkpoint.getSelection(), checkpoint.getMode(), checkpoint);
+    }
+    
+    private boolean startTask(World world, Selection selection, GenerationTask.GenerationMode mode, TaskCheckpoint checkpoint) {
         if (activeTasks.containsKey(world)) {
-            return;
+            return false;
         }
         
-        GenerationTask task = new GenerationTask(world, selection, mode);
+        if (mode == GenerationTask.GenerationMode.PRO && plugin.getSchedulerAdapter().isFolia()) {
+            plugin.getLogger().warning("PRO mode steers by server tick time, which Folia does not report. Using ADAPTIVE mode for world '" + world.getName() + "' instead");
+            mode = GenerationTask.GenerationMode.ADAPTIVE;
+        }
+        
+        GenerationTask task = new GenerationTask(world, selection, mode, plugin.getTimeSource());
         activeTasks.put(world, task);
-        lastLogTime.put(world, System.currentTimeMillis());
+        lastLogTime.put(world, plugin.getTimeSource().currentTimeMillis());
+        plugin.getStatisticsManager().recordTaskStart(task);
         
         ChunkGenerator generator = new ChunkGenerator(plugin, task);
+        if (checkpoint != null) {
+            task.setStartTime(plugin.getTimeSource().currentTimeMillis() - checkpoint.getElapsedTime());
+            generator.restore(checkpoint.getCompletedChunks());
+        }
         generator.prepare();
         generators.put(world, generator);
         
-        plugin.getLogger().info(String.format("Starting chunk generation for world '%s' in %s mode", 
-            world.getName(), mode.name()));
+        if (checkpoint != null) {
+            plugin.getLogger().info(String.format("Resuming chunk generation for world '%s' in %s mode (%d chunks already done)",
+                world.getName(), mode.name(), task.getCurrentChunk()));
+        } else {
+            plugin.getLogger().info(String.format("Starting chunk generation for world '%s' in %s mode",
+                world.getName(), mode.name()));
+        }
         plugin.getLogger().info(String.format("Total chunks to generate: %d", task.getTotalChunks()));
         
-        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (!task.isPaused()) {
-                if (shouldPauseForMemory()) {
+        scheduler.add(world, generator);
+        startDriver();
+        return true;
+    }
+    
+    private void startDriver() {
+        if (driver == null) {
+            driver = plugin.getSchedulerAdapter().runTimer(this::tick, 0L, 1L);
+        }
+    }
+    
+    private void stopDriver() {
+        if (driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+    }
+    
+    private void tick() {
+        long start = plugin.getTimeSource().nanoTime();
+        
+        if (shouldPauseForMemory()) {
+            generators.values().forEach(ChunkGenerator::drainChunks);
+            activeTasks.forEach((world, task) -> {
+                if (!task.isPaused()) {
                     task.setPaused(true);
                     notifyMemoryPause(world);
-                    return;
-                }
-                
-                generator.processNextBatch();
-                
-                logProgress(world, task);
-                
-                if (generator.isComplete()) {
-                    completeTask(world);
                 }
+            });
+            return;
+        }
+        
+        long budget = plugin.getConfigManager().getTickBudgetNanos();
+        long allowance = Math.max(0, budget + carryNanos);
+        long tickElapsed = start - plugin.getTickMonitor().getTickStartNanos();
+        if (tickElapsed >= 0 && tickElapsed < TICK_NANOS) {
+            allowance = Math.min(allowance, TICK_NANOS - tickElapsed);
+        }
+        
+        scheduler.tick(start + allowance);
+        
+        for (Map.Entry<World, ChunkGenerator> entry : generators.entrySet()) {
+            World world = entry.getKey();
+            ChunkGenerator generator = entry.getValue();
+            GenerationTask task = generator.getTask();
+            task.publishSnapshot();
+            plugin.getStatisticsManager().tick(world, !task.isPaused());
+            generator.releaseChunks();
+            
+            if (task.isPaused()) {
+                continue;
             }
-        }, 0L, 1L);
+            
+            logProgress(world, task, generator);
+            
+            if (generator.isComplete()) {
+                completeTask(world);
+            }
+        }
         
-        runningTasks.put(world, bukkitTask);
+        lastTickNanos = plugin.getTimeSource().nanoTime() - start;
+        plugin.getMetricsManager().recordTick(lastTickNanos, plugin.getTickMonitor().getLastMspt());
+        carryNanos = Math.max(-budget, Math.min(plugin.getConfigManager().getMaxCarryNanos(), allowance - lastTickNanos));
     }
     
-    private void logProgress(World world, GenerationTask task) {
+    private void logProgress(World world, GenerationTask task, ChunkGenerator generator) {
         if (silent || !plugin.getConfig().getBoolean("logging.console-updates", true)) {
             return;
         }
         
-        long currentTime = System.currentTimeMillis();
+        long currentTime = plugin.getTimeSource().currentTimeMillis();
         long lastLog = lastLogTime.getOrDefault(world, 0L);
         
         if (currentTime - lastLog >= quietInterval * 1000L) {
-            double progress = task.getProgress();
-            int current = task.getCurrentChunk();
-            int total = task.getTotalChunks();
-            long elapsed = task.getElapsedTime();
-            double speed = current / (elapsed / 1000.0);
+            ProgressSnapshot snapshot = task.getSnapshot();
+            double progress = snapshot.getProgress();
+            int current = snapshot.getCurrentChunk();
+            int total = snapshot.getTotalChunks();
+            double speed = snapshot.getSpeed();
             
             String logMessage = String.format(
-                "[HyperGen] World: %s | Progress: %.2f%% | Chunks: %d/%d | Speed: %.2f chunks/s | Status: %s",
+                "[HyperGen] World: %s | Progress: %.2f%% | Chunks: %d/%d | Speed: %.2f chunks/s | In-flight: %d/%d | Status: %s",
                 world.getName(),
                 progress,
                 current,
                 total,
                 speed,
-                task.isPaused() ? "PAUSED" : "RUNNING"
+                generator.getInFlight(),
+                generator.getMaxInFlight(),
+                snapshot.isPaused() ? "PAUSED" : "RUNNING"
             );
             
             plugin.getLogger().info(logMessage);
@@ -103,7 +178,7 @@ public class TaskManager {
     }
     
     private boolean shouldPauseForMemory() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = plugin.getTimeSource().currentTimeMillis();
         if (currentTime - lastMemoryCheck < MEMORY_CHECK_INTERVAL) {
             return false;
         }
@@ -118,6 +193,7 @@ public class TaskManager {
         double threshold = plugin.getConfig().getDouble("performance.memory-threshold", 0.85);
         
         if (memoryUsage > threshold) {
+            MemoryPauseEvent.emit(totalMemory - freeMemory, totalMemory, memoryUsage, threshold);
             System.gc();
             return true;
         }
@@ -132,7 +208,7 @@ public class TaskManager {
         
         plugin.getLogger().warning(message);
         
-        Bukkit.getOnlinePlayers().forEach(p -> {
+        plugin.getServer().getOnlinePlayers().forEach(p -> {
             if (p.hasPermission("hypergen.admin")) {
                 p.sendMessage(message);
             }
@@ -166,20 +242,32 @@ public class TaskManager {
     }
     
     public void cancelTask(World world) {
-        BukkitTask task = runningTasks.remove(world);
-        if (task != null) {
-            task.cancel();
-        }
+        removeTask(world);
+        plugin.getStatisticsManager().recordTaskCancel(world);
+        plugin.getLogger().info("Task cancelled for world: " + world.getName());
+    }
+    
+    private void removeTask(World world) {
+        scheduler.remove(world);
         activeTasks.remove(world);
-        generators.remove(world);
+        ChunkGenerator generator = generators.remove(world);
+        if (generator != null) {
+            generator.releaseAll();
+        }
         lastLogTime.remove(world);
-        plugin.getLogger().info("Task cancelled for world: " + world.getName());
+        if (activeTasks.isEmpty()) {
+            stopDriver();
+        }
+        plugin.getCheckpointManager().delete(world);
     }
     
     public void cancelAllTasks() {
-        runningTasks.values().forEach(BukkitTask::cancel);
-        runningTasks.clear();
+        stopDriver();
+        scheduler.clear();
+        activeTasks.keySet().forEach(plugin.getCheckpointManager()::delete);
+        activeTasks.keySet().forEach(plugin.getStatisticsManager()::recordTaskCancel);
         activeTasks.clear();
+        generators.values().forEach(ChunkGenerator::releaseAll);
         generators.clear();
         lastLogTime.clear();
         plugin.getLogger().info("All tasks cancelled");
@@ -187,27 +275,39 @@ public class TaskManager {
     
     private void completeTask(World world) {
         GenerationTask task = activeTasks.get(world);
-        if (task != null) {
-            long elapsed = task.getElapsedTime();
-            double speed = task.getCurrentChunk() / (elapsed / 1000.0);
+        ChunkGenerator generator = generators.get(world);
+        if (task != null && generator != null) {
+            ProgressSnapshot snapshot = task.publishSnapshot();
             
             plugin.getLogger().info(String.format(
-                "Chunk generation completed for world '%s' | Total chunks: %d | Time: %s | Average speed: %.2f chunks/s",
+                "Chunk generation completed for world '%s' | Total chunks: %d | Generated: %d | Failed: %d | Time: %s | Average speed: %.2f chunks/s",
                 world.getName(),
-                task.getCurrentChunk(),
-                formatTime(elapsed),
-                speed
+                snapshot.getCurrentChunk(),
+                generator.getGenerated().get(),
+                generator.getFailedChunks().size(),
+                formatTime(generator.getSessionElapsed()),
+                generator.getSessionSpeed()
             ));
             
+            if (!generator.getFailedChunks().isEmpty()) {
+                StringBuilder failed = new StringBuilder();
+                generator.getFailedChunks().forEach((x, z) -> failed.append(failed.length() > 0 ? ", " : "").append(x).append(',').append(z));
+                plugin.getLogger().warning(String.format("Chunks that failed to generate in world '%s': %s", world.getName(), failed));
+            }
+            
             plugin.getStatisticsManager().recordTaskComplete(world);
         }
         
-        cancelTask(world);
+        removeTask(world);
+        
+        if (task != null) {
+            plugin.getCompactionManager().scheduleAfterGeneration(world, task.getSelection());
+        }
         
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("world", world.getName());
         String message = plugin.getConfigManager().getMessage("generation-complete", placeholders);
-        Bukkit.getOnlinePlayers().forEach(p -> p.sendMessage(message));
+        plugin.getServer().getOnlinePlayers().forEach(p -> p.sendMessage(message));
     }
     
     private String formatTime(long millis) {
@@ -228,6 +328,18 @@ public class TaskManager {
         return activeTasks.get(world);
     }
     
+    public ChunkGenerator getGenerator(World world) {
+        return generators.get(world);
+    }
+    
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+    
+    public GenerationScheduler getScheduler() {
+        return scheduler;
+    }
+    
     public boolean hasActiveTask(World world) {
         return activeTasks.containsKey(world);
     }
@@ -256,9 +368,11 @@ public class TaskManager {
     
     public void shutdown() {
         plugin.getLogger().info("Shutting down TaskManager...");
-        runningTasks.values().forEach(BukkitTask::cancel);
-        runningTasks.clear();
+        stopDriver();
+        scheduler.clear();
+        plugin.getCheckpointManager().saveAll(activeTasks, generators);
         activeTasks.clear();
+        generators.values().forEach(ChunkGenerator::releaseAll);
         generators.clear();
         lastLogTime.clear();
     }
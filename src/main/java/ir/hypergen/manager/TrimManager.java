@@ -0,0 +1,94 @@
+package ir.hypergen.manager;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.model.Selection;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TrimManager {
+    private static final long CONFIRM_TIMEOUT = 30000;
+    
+    private final HyperGen plugin;
+    private final Map<UUID, PendingTrim> pending;
+    
+    public TrimManager(HyperGen plugin) {
+        this.plugin = plugin;
+        this.pending = new ConcurrentHashMap<>();
+    }
+    
+    public void request(Player player, World world, Selection area, String target) {
+        pending.put(player.getUniqueId(), new PendingTrim(world, area, target, System.currentTimeMillis()));
+        
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("world", world.getName());
+        placeholders.put("target", target);
+        player.sendMessage(plugin.getConfigManager().getMessage("trim-confirm", placeholders));
+    }
+    
+    public boolean confirm(Player player) {
+        PendingTrim trim = pending.remove(player.getUniqueId());
+        if (trim == null || System.currentTimeMillis() - trim.getCreated() > CONFIRM_TIMEOUT) {
+            return false;
+        }
+        
+        schedule(player, trim.getWorld(), trim.getArea());
+        return true;
+    }
+    
+    public Selection selectionArea(Selection selection) {
+        return selection.copy();
+    }
+    
+    public Selection borderArea(World world) {
+        WorldBorder border = world.getWorldBorder();
+        Location center = border.getCenter();
+        double half = border.getSize() / 2;
+        Selection area = new Selection();
+        area.setWorld(world);
+        area.setRectangle((int) Math.floor(center.getX() - half), (int) Math.floor(center.getZ() - half),
+            (int) Math.ceil(center.getX() + half) - 1, (int) Math.ceil(center.getZ() + half) - 1);
+        return area;
+    }
+    
+    public void schedule(CommandSender sender, World world, Selection area) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("world", world.getName());
+        
+        try {
+            plugin.getMaintenanceManager().scheduleTrim(world, area);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to schedule trim of world '" + world.getName() + "': " + e.getMessage());
+            placeholders.put("error", e.getMessage());
+            sender.sendMessage(plugin.getConfigManager().getMessage("trim-failed", placeholders));
+            return;
+        }
+        
+        plugin.getLogger().info("Trim of world '" + world.getName() + "' will run on the next server start");
+        sender.sendMessage(plugin.getConfigManager().getMessage("trim-scheduled", placeholders));
+    }
+    
+    @Getter
+    private static class PendingTrim {
+        private final World world;
+        private final Selection area;
+        private final String target;
+        private final long created;
+        
+        PendingTrim(World world, Selection area, String target, long created) {
+            this.world = world;
+            this.area = area;
+            this.target = target;
+            this.created = created;
+        }
+    }
+}
\ No newline at end of file
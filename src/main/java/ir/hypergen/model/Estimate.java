@@ -0,0 +1,34 @@
+package ir.hypergen.model;
+
+import lombok.Data;
+
+@Data
+public class Estimate {
+    private long totalChunks;
+    private long existingChunks;
+    private int sampledChunks;
+    private double meanLatencyMillis;
+    private double chunksPerSecond;
+    private double historicalChunksPerSecond;
+    private long bytesPerChunk;
+    private long peakMemoryBytes;
+    
+    public long getChunksToGenerate() {
+        return Math.max(0, totalChunks - existingChunks);
+    }
+    
+    public long getEstimatedTime() {
+        if (chunksPerSecond <= 0) return -1;
+        return (long) (getChunksToGenerate() / chunksPerSecond * 1000);
+    }
+    
+    public long getHistoricalTime() {
+        if (historicalChunksPerSecond <= 0) return -1;
+        return (long) (getChunksToGenerate() / historicalChunksPerSecond * 1000);
+    }
+    
+    public long getDiskGrowth() {
+        if (bytesPerChunk < 0) return -1;
+        return bytesPerChunk * getChunksToGenerate();
+    }
+}
\ No newline at end of file
@@ -1,46 +1,91 @@
 package ir.hypergen.model;
 
+import ir.hypergen.util.ConcurrentChunkBitmap;
+import ir.hypergen.util.TimeSource;
 import lombok.Data;
+import lombok.Getter;
 import org.bukkit.World;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@Data
+@Getter
 public class GenerationTask {
     private final World world;
     private final Selection selection;
     private final GenerationMode mode;
-    private final Set<ChunkCoord> processedChunks;
-    private final Set<ChunkCoord> remainingChunks;
-    private long startTime;
-    private boolean paused;
-    private int totalChunks;
-    private int currentChunk;
+    private final ConcurrentChunkBitmap processedChunks;
+    private final AtomicInteger currentChunk;
+    private final TimeSource timeSource;
+    private volatile long startTime;
+    private volatile boolean paused;
+    private volatile int totalChunks;
+    private volatile ProgressSnapshot snapshot;
     
     public GenerationTask(World world, Selection selection, GenerationMode mode) {
+        this(world, selection, mode, TimeSource.SYSTEM);
+    }
+    
+    public GenerationTask(World world, Selection selection, GenerationMode mode, TimeSource timeSource) {
         this.world = world;
         this.selection = selection;
         this.mode = mode;
-        this.processedChunks = new HashSet<>();
-        this.remainingChunks = new HashSet<>();
-        this.startTime = System.currentTimeMillis();
+        this.processedChunks = new ConcurrentChunkBitmap();
+        this.currentChunk = new AtomicInteger();
+        this.timeSource = timeSource;
+        this.startTime = timeSource.currentTimeMillis();
         this.paused = false;
         this.totalChunks = selection.getTotalChunks();
-        this.currentChunk = 0;
+        publishSnapshot();
+    }
+    
+    public int getCurrentChunk() {
+        return currentChunk.get();
+    }
+    
+    public void setCurrentChunk(int currentChunk) {
+        this.currentChunk.set(currentChunk);
+        publishSnapshot();
+    }
+    
+    public int incrementCurrentChunk() {
+        return currentChunk.incrementAndGet();
+    }
+    
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+        publishSnapshot();
+    }
+    
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        publishSnapshot();
+    }
+    
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+        publishSnapshot();
+    }
+    
+    public ProgressSnapshot publishSnapshot() {
+        ProgressSnapshot published = new ProgressSnapshot(currentChunk.get(), totalChunks, getElapsedTime(), paused);
+        snapshot = published;
+        return published;
     }
     
     public double getProgress() {
-        if (totalChunks == 0) return 0;
-        return (double) currentChunk / totalChunks * 100;
+        return snapshot.getProgress();
+    }
+    
+    public int getRemainingChunks() {
+        return snapshot.getRemainingChunks();
     }
     
     public long getElapsedTime() {
-        return System.currentTimeMillis() - startTime;
+        return timeSource.currentTimeMillis() - startTime;
     }
     
     public enum GenerationMode {
-        NORMAL, PRO, FAST
+        NORMAL, PRO, FAST, ADAPTIVE
     }
     
     @Data
@@ -58,7 +103,9 @@ public class GenerationTask {
         
         @Override
         public int hashCode() {
-            return 31 * x + z;
+            long key = ((long) x << 32) | (z & 0xFFFFFFFFL);
+            key *= 0x9E3779B97F4A7C15L;
+            return (int) (key ^ (key >>> 32));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package ir.hypergen.model;
+
+import lombok.Data;
+
+@Data
+public class ProgressSnapshot {
+    private final int currentChunk;
+    private final int totalChunks;
+    private final long elapsedTime;
+    private final boolean paused;
+    
+    public double getProgress() {
+        if (totalChunks == 0) return 0;
+        return (double) currentChunk / totalChunks * 100;
+    }
+    
+    public int getRemainingChunks() {
+        return Math.max(0, totalChunks - currentChunk);
+    }
+    
+    public double getSpeed() {
+        if (elapsedTime <= 0) return 0;
+        return currentChunk / (elapsedTime / 1000.0);
+    }
+    
+    public long getEstimatedRemainingTime() {
+        if (currentChunk == 0 || totalChunks == 0) return -1;
+        double progress = (double) currentChunk / totalChunks;
+        return (long) (elapsedTime / progress) - elapsedTime;
+    }
+}
\ No newline at end of file
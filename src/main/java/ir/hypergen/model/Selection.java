@@ -1,40 +1,352 @@
 package ir.hypergen.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.bukkit.World;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 @Data
 public class Selection {
     private World world;
     private Shape shape;
-    private Pattern pattern;
+    private String pattern;
     private int centerX;
     private int centerZ;
     private int radius;
+    private int radiusX;
+    private int radiusZ;
+    private int minChunkX;
+    private int minChunkZ;
+    private int maxChunkX;
+    private int maxChunkZ;
+    private List<Vertex> vertices;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile PolygonSpans polygonCache;
     
     public Selection() {
         this.shape = Shape.SQUARE;
-        this.pattern = Pattern.SPIRAL;
+        this.pattern = "spiral";
+        this.vertices = new ArrayList<>();
     }
     
-    public int getTotalChunks() {
-        if (shape == Shape.SQUARE) {
-            int chunks = (radius * 2 + 1);
-            return chunks * chunks;
+    public Selection copy() {
+        Selection copy = new Selection();
+        copy.setWorld(world);
+        copy.setShape(shape);
+        copy.setPattern(pattern);
+        copy.setCenterX(centerX);
+        copy.setCenterZ(centerZ);
+        copy.setRadius(radius);
+        copy.setRadiusX(radiusX);
+        copy.setRadiusZ(radiusZ);
+        copy.setMinChunkX(minChunkX);
+        copy.setMinChunkZ(minChunkZ);
+        copy.setMaxChunkX(maxChunkX);
+        copy.setMaxChunkZ(maxChunkZ);
+        copy.setVertices(new ArrayList<>(vertices));
+        return copy;
+    }
+    
+    public void setRectangle(int x1, int z1, int x2, int z2) {
+        this.minChunkX = Math.min(x1, x2) >> 4;
+        this.minChunkZ = Math.min(z1, z2) >> 4;
+        this.maxChunkX = Math.max(x1, x2) >> 4;
+        this.maxChunkZ = Math.max(z1, z2) >> 4;
+        this.centerX = (int) Math.floorDiv((long) x1 + x2, 2);
+        this.centerZ = (int) Math.floorDiv((long) z1 + z2, 2);
+        this.shape = Shape.RECTANGLE;
+    }
+    
+    public void setPolygon(List<Vertex> points) {
+        this.vertices = new ArrayList<>(points);
+        this.polygonCache = null;
+        if (vertices.isEmpty()) {
+            return;
+        }
+        
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (Vertex vertex : vertices) {
+            minX = Math.min(minX, vertex.getX());
+            minZ = Math.min(minZ, vertex.getZ());
+            maxX = Math.max(maxX, vertex.getX());
+            maxZ = Math.max(maxZ, vertex.getZ());
+        }
+        this.minChunkX = minX >> 4;
+        this.minChunkZ = minZ >> 4;
+        this.maxChunkX = maxX >> 4;
+        this.maxChunkZ = maxZ >> 4;
+        this.centerX = (int) Math.floorDiv((long) minX + maxX, 2);
+        this.centerZ = (int) Math.floorDiv((long) minZ + maxZ, 2);
+        this.shape = Shape.POLYGON;
+    }
+    
+    public void moveTo(int x, int z) {
+        int dx = (x >> 4) - (centerX >> 4);
+        int dz = (z >> 4) - (centerZ >> 4);
+        if (shape == Shape.POLYGON && !vertices.isEmpty()) {
+            List<Vertex> moved = new ArrayList<>();
+            for (Vertex vertex : vertices) {
+                moved.add(new Vertex(vertex.getX() + (x - centerX), vertex.getZ() + (z - centerZ)));
+            }
+            setPolygon(moved);
         } else {
-            return (int) (Math.PI * radius * radius);
+            this.minChunkX += dx;
+            this.minChunkZ += dz;
+            this.maxChunkX += dx;
+            this.maxChunkZ += dz;
+        }
+        this.centerX = x;
+        this.centerZ = z;
+    }
+    
+    public void fitBoundsToRadius() {
+        int rx = radiusX > 0 ? radiusX : radius;
+        int rz = radiusZ > 0 ? radiusZ : radius;
+        this.minChunkX = (centerX >> 4) - rx;
+        this.minChunkZ = (centerZ >> 4) - rz;
+        this.maxChunkX = (centerX >> 4) + rx;
+        this.maxChunkZ = (centerZ >> 4) + rz;
+    }
+    
+    public int getMinRelX() {
+        switch (shape) {
+            case ELLIPSE:
+                return -radiusX;
+            case RECTANGLE:
+            case POLYGON:
+                return minChunkX - (centerX >> 4);
+            default:
+                return -radius;
+        }
+    }
+    
+    public int getMaxRelX() {
+        switch (shape) {
+            case ELLIPSE:
+                return radiusX;
+            case RECTANGLE:
+            case POLYGON:
+                return maxChunkX - (centerX >> 4);
+            default:
+                return radius;
+        }
+    }
+    
+    public int getMinRelZ() {
+        switch (shape) {
+            case ELLIPSE:
+                return -radiusZ;
+            case RECTANGLE:
+            case POLYGON:
+                return minChunkZ - (centerZ >> 4);
+            default:
+                return -radius;
+        }
+    }
+    
+    public int getMaxRelZ() {
+        switch (shape) {
+            case ELLIPSE:
+                return radiusZ;
+            case RECTANGLE:
+            case POLYGON:
+                return maxChunkZ - (centerZ >> 4);
+            default:
+                return radius;
+        }
+    }
+    
+    public int getCoveringRadius() {
+        return Math.max(Math.max(-getMinRelX(), getMaxRelX()), Math.max(-getMinRelZ(), getMaxRelZ()));
+    }
+    
+    public int getTotalChunks() {
+        long total = 0;
+        for (int relZ = getMinRelZ(); relZ <= getMaxRelZ(); relZ++) {
+            total += countRow(relZ);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+    
+    public long countRow(int relZ) {
+        if (relZ < getMinRelZ() || relZ > getMaxRelZ()) {
+            return 0;
+        }
+        
+        switch (shape) {
+            case CIRCLE:
+                return 2 * isqrt((long) radius * radius - (long) relZ * relZ) + 1;
+            case ELLIPSE:
+                return 2 * ellipseHalfWidth(relZ) + 1;
+            case POLYGON: {
+                int[] spans = polygonSpans(relZ);
+                long count = 0;
+                for (int i = 0; i < spans.length; i += 2) {
+                    count += spans[i + 1] - spans[i] + 1;
+                }
+                return count;
+            }
+            default:
+                return getMaxRelX() - getMinRelX() + 1;
+        }
+    }
+    
+    public boolean containsChunk(int relX, int relZ) {
+        if (relX < getMinRelX() || relX > getMaxRelX() || relZ < getMinRelZ() || relZ > getMaxRelZ()) {
+            return false;
+        }
+        
+        switch (shape) {
+            case CIRCLE:
+                return (long) relX * relX + (long) relZ * relZ <= (long) radius * radius;
+            case ELLIPSE:
+                return Math.abs(relX) <= ellipseHalfWidth(relZ);
+            case POLYGON: {
+                int chunkX = (centerX >> 4) + relX;
+                int[] spans = polygonSpans(relZ);
+                for (int i = 0; i < spans.length; i += 2) {
+                    if (chunkX >= spans[i] && chunkX <= spans[i + 1]) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            default:
+                return true;
+        }
+    }
+    
+    private long ellipseHalfWidth(int relZ) {
+        long rx = radiusX;
+        long rz = radiusZ;
+        if (rz == 0) {
+            return relZ == 0 ? rx : -1;
+        }
+        long span = (rz - relZ) * (rz + relZ);
+        if (span < 0) return -1;
+        long width = (long) (rx * Math.sqrt(span) / rz);
+        while (width > 0 && squareExceeds(width * rz, rx * rx, span)) width--;
+        while (!squareExceeds((width + 1) * rz, rx * rx, span)) width++;
+        return width;
+    }
+    
+    private int[] polygonSpans(int relZ) {
+        int chunkZ = (centerZ >> 4) + relZ;
+        PolygonSpans cached = polygonCache;
+        if (cached == null || cached.getVertices() != vertices || cached.getMinChunkZ() != minChunkZ
+            || cached.getRows().length != Math.max(0, maxChunkZ - minChunkZ + 1)) {
+            cached = buildPolygonSpans();
+            polygonCache = cached;
+        }
+        
+        int row = chunkZ - cached.getMinChunkZ();
+        return row >= 0 && row < cached.getRows().length ? cached.getRows()[row] : computePolygonSpans(chunkZ);
+    }
+    
+    private PolygonSpans buildPolygonSpans() {
+        int[][] rows = new int[Math.max(0, maxChunkZ - minChunkZ + 1)][];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = computePolygonSpans(minChunkZ + row);
         }
+        return new PolygonSpans(vertices, minChunkZ, rows);
+    }
+    
+    private int[] computePolygonSpans(int chunkZ) {
+        int size = vertices.size();
+        if (size < 3) {
+            return new int[0];
+        }
+        
+        double sampleZ = (chunkZ << 4) + 8.0;
+        double[] crossings = new double[size];
+        int count = 0;
+        
+        for (int i = 0, j = size - 1; i < size; j = i++) {
+            Vertex a = vertices.get(i);
+            Vertex b = vertices.get(j);
+            if ((a.getZ() > sampleZ) != (b.getZ() > sampleZ)) {
+                crossings[count++] = a.getX() + (sampleZ - a.getZ()) * (b.getX() - a.getX()) / (b.getZ() - a.getZ());
+            }
+        }
+        
+        Arrays.sort(crossings, 0, count);
+        int[] spans = new int[count];
+        int spanCount = 0;
+        for (int i = 0; i + 1 < count; i += 2) {
+            int first = (int) Math.ceil((crossings[i] - 8.0) / 16.0);
+            int last = (int) Math.ceil((crossings[i + 1] - 8.0) / 16.0) - 1;
+            if (last >= first) {
+                spans[spanCount++] = first;
+                spans[spanCount++] = last;
+            }
+        }
+        return Arrays.copyOf(spans, spanCount);
+    }
+    
+    private static boolean squareExceeds(long value, long a, long b) {
+        long high = Math.multiplyHigh(value, value);
+        long productHigh = Math.multiplyHigh(a, b);
+        if (high != productHigh) return high > productHigh;
+        return Long.compareUnsigned(value * value, a * b) > 0;
+    }
+    
+    private static long isqrt(long value) {
+        if (value < 0) return -1;
+        long root = (long) Math.sqrt(value);
+        while (root * root > value) root--;
+        while ((root + 1) * (root + 1) <= value) root++;
+        return root;
     }
     
     public boolean isValid() {
-        return world != null && radius > 0;
+        if (world == null) {
+            return false;
+        }
+        
+        switch (shape) {
+            case ELLIPSE:
+                return radiusX > 0 && radiusZ > 0;
+            case RECTANGLE:
+                return maxChunkX >= minChunkX && maxChunkZ >= minChunkZ;
+            case POLYGON:
+                return vertices.size() >= 3 && getTotalChunks() > 0;
+            default:
+                return radius > 0;
+        }
     }
     
     public enum Shape {
-        SQUARE, CIRCLE
+        SQUARE, CIRCLE, RECTANGLE, ELLIPSE, POLYGON
     }
     
-    public enum Pattern {
-        SPIRAL, CONCENTRIC
+    @Data
+    public static class Vertex {
+        private final int x;
+        private final int z;
     }
+    
+    @Getter
+    private static final class PolygonSpans {
+        private final List<Vertex> vertices;
+        private final int minChunkZ;
+        private final int[][] rows;
+        
+        PolygonSpans(List<Vertex> vertices, int minChunkZ, int[][] rows) {
+            this.vertices = vertices;
+            this.minChunkZ = minChunkZ;
+            this.rows = rows;
+        }
+    }
+    
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package ir.hypergen.model;
+
+import ir.hypergen.util.ChunkBitmap;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class TaskCheckpoint {
+    private final UUID worldId;
+    private final String worldName;
+    private final GenerationTask.GenerationMode mode;
+    private final Selection selection;
+    private final long elapsedTime;
+    private final ChunkBitmap completedChunks;
+}
\ No newline at end of file
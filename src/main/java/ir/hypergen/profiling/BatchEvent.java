@@ -0,0 +1,46 @@
+package ir.hypergen.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ir.hypergen.Batch")
+@Label("Batch Processed")
+@Category({"HyperGen", "Scheduling"})
+@Description("One call to processNextBatch on the main thread")
+@StackTrace(false)
+public class BatchEvent extends Event {
+    @Label("World")
+    private String world;
+    
+    @Label("Mode")
+    private String mode;
+    
+    @Label("Limit")
+    private int limit;
+    
+    @Label("Issued")
+    private int issued;
+    
+    @Label("Skipped")
+    private int skipped;
+    
+    @Label("In Flight")
+    private int inFlight;
+    
+    @Label("Max In Flight")
+    private int maxInFlight;
+    
+    public void set(String world, String mode, int limit, int issued, int skipped, int inFlight, int maxInFlight) {
+        this.world = world;
+        this.mode = mode;
+        this.limit = limit;
+        this.issued = issued;
+        this.skipped = skipped;
+        this.inFlight = inFlight;
+        this.maxInFlight = maxInFlight;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package ir.hypergen.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("ir.hypergen.ChunkComplete")
+@Label("Chunk Complete")
+@Category({"HyperGen", "Chunks"})
+@Description("A requested chunk finished loading or failed")
+@StackTrace(false)
+public class ChunkCompleteEvent extends Event {
+    @Label("World")
+    private String world;
+    
+    @Label("Chunk X")
+    private int chunkX;
+    
+    @Label("Chunk Z")
+    private int chunkZ;
+    
+    @Label("Attempt")
+    private int attempt;
+    
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    private long latency;
+    
+    @Label("Success")
+    private boolean success;
+    
+    public static void emit(String world, int chunkX, int chunkZ, int attempt, long latency, boolean success) {
+        ChunkCompleteEvent event = new ChunkCompleteEvent();
+        if (event.shouldCommit()) {
+            event.world = world;
+            event.chunkX = chunkX;
+            event.chunkZ = chunkZ;
+            event.attempt = attempt;
+            event.latency = latency;
+            event.success = success;
+            event.commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ir.hypergen.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("ir.hypergen.ChunkRequest")
+@Label("Chunk Request")
+@Category({"HyperGen", "Chunks"})
+@Description("A chunk load was requested from the server")
+@StackTrace(false)
+public class ChunkRequestEvent extends Event {
+    @Label("World")
+    private String world;
+    
+    @Label("Chunk X")
+    private int chunkX;
+    
+    @Label("Chunk Z")
+    private int chunkZ;
+    
+    @Label("Attempt")
+    private int attempt;
+    
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    private long queueWait;
+    
+    public static void emit(String world, int chunkX, int chunkZ, int attempt, long queueWait) {
+        ChunkRequestEvent event = new ChunkRequestEvent();
+        if (event.shouldCommit()) {
+            event.world = world;
+            event.chunkX = chunkX;
+            event.chunkZ = chunkZ;
+            event.attempt = attempt;
+            event.queueWait = queueWait;
+            event.commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ir.hypergen.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+@Name("ir.hypergen.MemoryPause")
+@Label("Memory Pause")
+@Category({"HyperGen", "Scheduling"})
+@Description("Generation was paused because heap usage crossed the configured threshold")
+@StackTrace(false)
+public class MemoryPauseEvent extends Event {
+    @Label("Used Heap")
+    @DataAmount
+    private long usedHeap;
+    
+    @Label("Committed Heap")
+    @DataAmount
+    private long committedHeap;
+    
+    @Label("Usage")
+    @Percentage
+    private double usage;
+    
+    @Label("Threshold")
+    @Percentage
+    private double threshold;
+    
+    public static void emit(long usedHeap, long committedHeap, double usage, double threshold) {
+        MemoryPauseEvent event = new MemoryPauseEvent();
+        if (event.shouldCommit()) {
+            event.usedHeap = usedHeap;
+            event.committedHeap = committedHeap;
+            event.usage = usage;
+            event.threshold = threshold;
+            event.commit();
+        }
+    }
+}
\ No newline at end of file
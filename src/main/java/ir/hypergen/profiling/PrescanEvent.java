@@ -0,0 +1,34 @@
+package ir.hypergen.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ir.hypergen.Prescan")
+@Label("Region Pre-scan")
+@Category({"HyperGen", "Disk"})
+@Description("Region headers were read to find chunks that are already generated")
+@StackTrace(false)
+public class PrescanEvent extends Event {
+    @Label("World")
+    private String world;
+    
+    @Label("Existing Chunks")
+    private long existingChunks;
+    
+    @Label("Skipped Chunks")
+    private long skippedChunks;
+    
+    @Label("Success")
+    private boolean success;
+    
+    public void set(String world, long existingChunks, long skippedChunks, boolean success) {
+        this.world = world;
+        this.existingChunks = existingChunks;
+        this.skippedChunks = skippedChunks;
+        this.success = success;
+    }
+}
\ No newline at end of file
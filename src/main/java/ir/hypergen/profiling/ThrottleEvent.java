@@ -0,0 +1,46 @@
+package ir.hypergen.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ir.hypergen.Throttle")
+@Label("Throttle Decision")
+@Category({"HyperGen", "Scheduling"})
+@Description("PRO mode updated its chunks per tick from the measured tick time")
+@StackTrace(false)
+public class ThrottleEvent extends Event {
+    @Label("World")
+    private String world;
+    
+    @Label("Target MSPT")
+    private double targetMspt;
+    
+    @Label("Mean MSPT")
+    private double meanMspt;
+    
+    @Label("P95 MSPT")
+    private double p95Mspt;
+    
+    @Label("Measured MSPT")
+    private double measuredMspt;
+    
+    @Label("Chunks Per Tick")
+    private double chunksPerTick;
+    
+    public static void emit(String world, double targetMspt, double meanMspt, double p95Mspt, double measuredMspt, double chunksPerTick) {
+        ThrottleEvent event = new ThrottleEvent();
+        if (event.shouldCommit()) {
+            event.world = world;
+            event.targetMspt = targetMspt;
+            event.meanMspt = meanMspt;
+            event.p95Mspt = p95Mspt;
+            event.measuredMspt = measuredMspt;
+            event.chunksPerTick = chunksPerTick;
+            event.commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package ir.hypergen.util;
+
+public class AimdController {
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_DRIFT = 0.01;
+    
+    private final double minLimit;
+    private final double maxLimit;
+    private final double increase;
+    private final double decrease;
+    private final double tolerance;
+    private double limit;
+    private double smoothedLatency;
+    private double baselineLatency;
+    private int samplesInRound;
+    private boolean saturatedInRound;
+    private boolean congestedInRound;
+    
+    public AimdController(int minLimit, int maxLimit, double increase, double decrease, double tolerance) {
+        this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.increase = Math.max(0.1, increase);
+        this.decrease = Math.max(0.1, Math.min(0.95, decrease));
+        this.tolerance = Math.max(1.0, tolerance);
+        this.limit = this.minLimit;
+        this.smoothedLatency = 0;
+        this.baselineLatency = 0;
+    }
+    
+    public synchronized void onComplete(long latencyNanos, boolean saturated) {
+        double latency = latencyNanos / 1_000_000.0;
+        
+        if (smoothedLatency == 0) {
+            smoothedLatency = latency;
+            baselineLatency = latency;
+        } else {
+            smoothedLatency += (latency - smoothedLatency) * SMOOTHING;
+            baselineLatency = Math.min(latency, baselineLatency + (smoothedLatency - baselineLatency) * BASELINE_DRIFT);
+        }
+        
+        if (smoothedLatency > baselineLatency * tolerance) {
+            congestedInRound = true;
+        }
+        saturatedInRound |= saturated;
+        
+        if (++samplesInRound >= (int) limit) {
+            endRound();
+        }
+    }
+    
+    public synchronized void onFailure() {
+        congestedInRound = true;
+        endRound();
+    }
+    
+    private void endRound() {
+        if (congestedInRound) {
+            limit = Math.max(minLimit, limit * decrease);
+        } else if (saturatedInRound) {
+            limit = Math.min(maxLimit, limit + increase);
+        }
+        
+        samplesInRound = 0;
+        saturatedInRound = false;
+        congestedInRound = false;
+    }
+    
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+    
+    public synchronized double getSmoothedLatency() {
+        return smoothedLatency;
+    }
+    
+    public synchronized double getBaselineLatency() {
+        return baselineLatency;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ChunkBitmap {
+    public static final int WORDS_PER_REGION = 16;
+    
+    private final Map<Long, long[]> regions;
+    private long size;
+    
+    public ChunkBitmap() {
+        this.regions = new HashMap<>();
+        this.size = 0;
+    }
+    
+    public static long regionKey(int regionX, int regionZ) {
+        return ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+    
+    public static int regionX(long key) {
+        return (int) (key >> 32);
+    }
+    
+    public static int regionZ(long key) {
+        return (int) key;
+    }
+    
+    public boolean add(int x, int z) {
+        long[] bits = regions.computeIfAbsent(regionKey(x >> 5, z >> 5), k -> new long[WORDS_PER_REGION]);
+        int index = ((z & 31) << 5) | (x & 31);
+        long mask = 1L << (index & 63);
+        if ((bits[index >> 6] & mask) != 0) {
+            return false;
+        }
+        bits[index >> 6] |= mask;
+        size++;
+        return true;
+    }
+    
+    public boolean contains(int x, int z) {
+        long[] bits = regions.get(regionKey(x >> 5, z >> 5));
+        if (bits == null) {
+            return false;
+        }
+        int index = ((z & 31) << 5) | (x & 31);
+        return (bits[index >> 6] & (1L << (index & 63))) != 0;
+    }
+    
+    public void addAll(ChunkBitmap other) {
+        for (Map.Entry<Long, long[]> entry : other.regions.entrySet()) {
+            long[] source = entry.getValue();
+            long[] bits = regions.computeIfAbsent(entry.getKey(), k -> new long[WORDS_PER_REGION]);
+            for (int i = 0; i < WORDS_PER_REGION; i++) {
+                long added = source[i] & ~bits[i];
+                bits[i] |= added;
+                size += Long.bitCount(added);
+            }
+        }
+    }
+    
+    public void forEach(ChunkConsumer consumer) {
+        for (Map.Entry<Long, long[]> entry : regions.entrySet()) {
+            int baseX = regionX(entry.getKey()) << 5;
+            int baseZ = regionZ(entry.getKey()) << 5;
+            long[] bits = entry.getValue();
+            
+            for (int word = 0; word < WORDS_PER_REGION; word++) {
+                long value = bits[word];
+                while (value != 0) {
+                    int index = (word << 6) | Long.numberOfTrailingZeros(value);
+                    consumer.accept(baseX + (index & 31), baseZ + (index >> 5));
+                    value &= value - 1;
+                }
+            }
+        }
+    }
+    
+    public void setRegion(int regionX, int regionZ, long[] bits) {
+        long[] previous = regions.put(regionKey(regionX, regionZ), bits);
+        if (previous != null) {
+            size -= countBits(previous);
+        }
+        size += countBits(bits);
+    }
+    
+    public long[] getRegion(int regionX, int regionZ) {
+        return regions.get(regionKey(regionX, regionZ));
+    }
+    
+    public Map<Long, long[]> getRegions() {
+        return regions;
+    }
+    
+    public long size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public long countWithin(Selection selection, ChunkBitmap exclude) {
+        int centerX = selection.getCenterX() >> 4;
+        int centerZ = selection.getCenterZ() >> 4;
+        long count = 0;
+        
+        for (Map.Entry<Long, long[]> entry : regions.entrySet()) {
+            int baseX = regionX(entry.getKey()) << 5;
+            int baseZ = regionZ(entry.getKey()) << 5;
+            long[] bits = entry.getValue();
+            
+            for (int index = 0; index < 1024; index++) {
+                if ((bits[index >> 6] & (1L << (index & 63))) == 0) {
+                    continue;
+                }
+                
+                int x = baseX + (index & 31);
+                int z = baseZ + (index >> 5);
+                if (selection.containsChunk(x - centerX, z - centerZ) && (exclude == null || !exclude.contains(x, z))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        void accept(int x, int z);
+    }
+    
+    private static long countBits(long[] bits) {
+        long count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ir.hypergen.util;
+
+public interface ChunkCursor {
+    
+    boolean next();
+    
+    int getX();
+    
+    int getZ();
+    
+    long getIndex();
+    
+    long size();
+    
+    default long getRemaining() {
+        return size() - getIndex();
+    }
+}
\ No newline at end of file
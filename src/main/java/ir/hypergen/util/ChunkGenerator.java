@@ -1,161 +1,445 @@
 package ir.hypergen.util;
 
 import ir.hypergen.HyperGen;
+import ir.hypergen.manager.ConfigManager;
 import ir.hypergen.model.GenerationTask;
 import ir.hypergen.model.Selection;
+import ir.hypergen.profiling.BatchEvent;
+import ir.hypergen.profiling.ChunkCompleteEvent;
+import ir.hypergen.profiling.ChunkRequestEvent;
+import ir.hypergen.profiling.PrescanEvent;
+import ir.hypergen.profiling.ThrottleEvent;
 import lombok.Getter;
-import org.bukkit.Chunk;
 import org.bukkit.World;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 public class ChunkGenerator {
+    private static final int MAX_SKIPS_PER_TICK = 65536;
+    
     private final HyperGen plugin;
     private final GenerationTask task;
-    private final List<GenerationTask.ChunkCoord> chunkQueue;
-    private int currentIndex;
-    private boolean complete;
+    private final AtomicInteger inFlight;
+    private final AtomicInteger generated;
+    private final PriorityBlockingQueue<PendingChunk> retries;
+    private final ConcurrentChunkBitmap failedChunks;
+    private final long sessionStart;
+    private final ChunkReleaser releaser;
+    private final PidController throttle;
+    private final AimdController concurrency;
+    private final TimeSource timeSource;
+    private ChunkCursor cursor;
+    private ChunkBitmap existingChunks;
+    private ChunkBitmap restoredChunks;
+    private long pendingSkips;
+    private boolean scanning;
+    private boolean exhausted;
+    private volatile long lastCompletion;
+    private boolean headBlocked;
+    private long headBlockedAt;
+    private long throttleTick;
+    private long throttleNanos;
+    private double normalAllowance;
+    private long normalRefillNanos;
     
     public ChunkGenerator(HyperGen plugin, GenerationTask task) {
         this.plugin = plugin;
         this.task = task;
-        this.chunkQueue = new ArrayList<>();
-        this.currentIndex = 0;
-        this.complete = false;
+        this.timeSource = plugin.getTimeSource();
+        this.inFlight = new AtomicInteger();
+        this.generated = new AtomicInteger();
+        this.retries = new PriorityBlockingQueue<>(16, Comparator.comparingLong(PendingChunk::getDue));
+        this.failedChunks = new ConcurrentChunkBitmap();
+        this.sessionStart = timeSource.currentTimeMillis();
+        this.releaser = new ChunkReleaser(plugin, task, this);
+        this.throttle = createThrottle(plugin.getConfigManager());
+        this.concurrency = createConcurrency(plugin.getConfigManager());
+        this.pendingSkips = 0;
+        this.scanning = false;
+        this.exhausted = false;
+        this.lastCompletion = sessionStart;
+        this.throttleTick = -1;
+    }
+    
+    private static PidController createThrottle(ConfigManager config) {
+        return new PidController(config.getProModeKp(), config.getProModeKi(), config.getProModeKd(),
+            config.getProModeMinChunksPerTick(), config.getProModeMaxChunksPerTick());
+    }
+    
+    private static AimdController createConcurrency(ConfigManager config) {
+        return new AimdController(config.getAdaptiveMinInFlight(), config.getMaxConcurrentChunks(),
+            config.getAdaptiveIncrease(), config.getAdaptiveDecrease(), config.getAdaptiveLatencyTolerance());
+    }
+    
+    public void restore(ChunkBitmap completedChunks) {
+        this.restoredChunks = completedChunks;
     }
     
     public void prepare() {
         Selection selection = task.getSelection();
-        int centerChunkX = selection.getCenterX() >> 4;
-        int centerChunkZ = selection.getCenterZ() >> 4;
-        int radius = selection.getRadius();
         
-        if (selection.getPattern() == Selection.Pattern.SPIRAL) {
-            generateSpiralPattern(centerChunkX, centerChunkZ, radius, selection.getShape());
-        } else {
-            generateConcentricPattern(centerChunkX, centerChunkZ, radius, selection.getShape());
+        cursor = plugin.getPatternManager().createCursor(selection);
+        
+        task.setTotalChunks((int) cursor.size());
+        
+        if (restoredChunks != null) {
+            int centerX = selection.getCenterX() >> 4;
+            int centerZ = selection.getCenterZ() >> 4;
+            restoredChunks.forEach((x, z) -> {
+                if (selection.containsChunk(x - centerX, z - centerZ)) {
+                    task.getProcessedChunks().add(x, z);
+                }
+            });
+            
+            long restored = task.getProcessedChunks().size();
+            pendingSkips = restored;
+            task.setCurrentChunk((int) restored);
         }
         
-        task.setTotalChunks(chunkQueue.size());
-        task.getRemainingChunks().addAll(chunkQueue);
+        if (plugin.getConfigManager().isPrescanEnabled()) {
+            startPrescan();
+        }
     }
     
-    private void generateSpiralPattern(int centerX, int centerZ, int radius, Selection.Shape shape) {
-        int x = 0, z = 0;
-        int dx = 0, dz = -1;
-        int maxSteps = (radius * 2 + 1) * (radius * 2 + 1);
+    private void startPrescan() {
+        scanning = true;
+        RegionScanner scanner = new RegionScanner(task.getWorld(), task.getSelection(),
+            plugin.getConfigManager().isPrescanVerifyStatus());
         
-        for (int i = 0; i < maxSteps; i++) {
-            int chunkX = centerX + x;
-            int chunkZ = centerZ + z;
+        plugin.getSchedulerAdapter().runAsync(() -> {
+            long start = timeSource.currentTimeMillis();
+            PrescanEvent event = new PrescanEvent();
+            event.begin();
+            ChunkBitmap existing;
+            long skipped;
             
-            if (isInBounds(x, z, radius, shape)) {
-                chunkQueue.add(new GenerationTask.ChunkCoord(chunkX, chunkZ));
+            try {
+                existing = scanner.scan();
+                skipped = existing.countWithin(task.getSelection(), restoredChunks);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Region pre-scan failed for world '" + task.getWorld().getName() + "': " + e.getMessage());
+                existing = null;
+                skipped = 0;
             }
             
-            if (x == z || (x < 0 && x == -z) || (x > 0 && x == 1 - z)) {
-                int temp = dx;
-                dx = -dz;
-                dz = temp;
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(task.getWorld().getName(), existing != null ? existing.size() : 0, skipped, existing != null);
+                event.commit();
             }
             
-            x += dx;
-            z += dz;
-        }
+            if (!plugin.isEnabled()) {
+                return;
+            }
+            
+            ChunkBitmap result = existing;
+            long skip = skipped;
+            long elapsed = timeSource.currentTimeMillis() - start;
+            plugin.getSchedulerAdapter().run(() -> {
+                existingChunks = result;
+                pendingSkips += skip;
+                task.setTotalChunks((int) (cursor.size() - skip));
+                scanning = false;
+                
+                if (skip > 0) {
+                    plugin.getLogger().info(String.format("Region pre-scan for world '%s' found %d already generated chunks in %dms",
+                        task.getWorld().getName(), skip, elapsed));
+                }
+            });
+        });
     }
     
-    private void generateConcentricPattern(int centerX, int centerZ, int radius, Selection.Shape shape) {
-        for (int r = 0; r <= radius; r++) {
-            for (int x = -r; x <= r; x++) {
-                for (int z = -r; z <= r; z++) {
-                    if (Math.abs(x) == r || Math.abs(z) == r) {
-                        if (isInBounds(x, z, radius, shape)) {
-                            chunkQueue.add(new GenerationTask.ChunkCoord(centerX + x, centerZ + z));
-                        }
-                    }
-                }
-            }
-        }
+    private boolean isSkipped(int x, int z) {
+        return (existingChunks != null && existingChunks.contains(x, z))
+            || (restoredChunks != null && restoredChunks.contains(x, z));
     }
     
-    private boolean isInBounds(int x, int z, int radius, Selection.Shape shape) {
-        if (shape == Selection.Shape.SQUARE) {
-            return Math.abs(x) <= radius && Math.abs(z) <= radius;
-        } else {
-            return (x * x + z * z) <= (radius * radius);
-        }
+    public boolean isDone(int x, int z) {
+        return isSkipped(x, z) || task.getProcessedChunks().contains(x, z);
     }
     
-    public void processNextBatch() {
-        if (complete || currentIndex >= chunkQueue.size()) {
-            complete = true;
-            return;
+    public long getRemainingChunks() {
+        return cursor.getRemaining() - pendingSkips + retries.size();
+    }
+    
+    public boolean isComplete() {
+        return exhausted && inFlight.get() == 0 && retries.isEmpty();
+    }
+    
+    public boolean isWaiting() {
+        return (exhausted && retries.isEmpty()) || scanning || task.isPaused();
+    }
+    
+    public long getSessionElapsed() {
+        return lastCompletion - sessionStart;
+    }
+    
+    public double getSessionSpeed() {
+        long elapsed = getSessionElapsed();
+        return elapsed > 0 ? generated.get() / (elapsed / 1000.0) : 0;
+    }
+    
+    public int processNextBatch(int limit, long deadline) {
+        if (scanning || isWaiting()) {
+            headBlocked = false;
+            return 0;
         }
         
-        int chunksPerTick = getChunksPerTick();
+        BatchEvent event = new BatchEvent();
+        event.begin();
+        int chunksPerTick = Math.min(limit, getChunksPerTick());
+        int maxInFlight = getMaxInFlight();
         World world = task.getWorld();
+        int issued = 0;
+        int skipped = 0;
         
-        for (int i = 0; i < chunksPerTick && currentIndex < chunkQueue.size(); i++) {
-            GenerationTask.ChunkCoord coord = chunkQueue.get(currentIndex);
+        Map<Long, List<PendingChunk>> batches = plugin.getSchedulerAdapter().isFolia() ? new HashMap<>() : null;
+        long now;
+        while (issued < chunksPerTick && inFlight.get() < maxInFlight && !releaser.isSaturated(inFlight.get())
+            && (now = timeSource.nanoTime()) < deadline) {
+            PendingChunk retry = retries.peek();
+            if (retry != null && retry.getDue() <= now) {
+                retry = retries.poll();
+                issue(world, batches, retry.getX(), retry.getZ(), retry.getAttempt(), retry.getDue());
+                issued++;
+                continue;
+            }
+            
+            if (exhausted) {
+                break;
+            }
             
-            world.getChunkAtAsync(coord.getX(), coord.getZ(), (chunk) -> {
-                if (chunk != null) {
-                    chunk.load(true);
-                    task.getProcessedChunks().add(coord);
-                    task.getRemainingChunks().remove(coord);
-                    task.setCurrentChunk(task.getCurrentChunk() + 1);
-                    
-                    plugin.getStatisticsManager().recordChunkGeneration(world, 1, System.currentTimeMillis() - task.getStartTime());
+            if (!cursor.next()) {
+                exhausted = true;
+                break;
+            }
+            
+            if (isSkipped(cursor.getX(), cursor.getZ())) {
+                pendingSkips--;
+                if (++skipped >= MAX_SKIPS_PER_TICK) {
+                    break;
                 }
-            });
+                continue;
+            }
             
-            currentIndex++;
+            issue(world, batches, cursor.getX(), cursor.getZ(), 1, headBlocked ? headBlockedAt : now);
+            headBlocked = false;
+            issued++;
+        }
+        
+        if (!exhausted && !headBlocked) {
+            headBlocked = true;
+            headBlockedAt = timeSource.nanoTime();
+        }
+        
+        if (batches != null) {
+            dispatch(world, batches);
+        }
+        
+        if (task.getMode() == GenerationTask.GenerationMode.NORMAL) {
+            normalAllowance -= issued;
+        }
+        
+        if (cursor.getRemaining() <= 0) {
+            exhausted = true;
+        }
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(world.getName(), task.getMode().name(), limit, issued, skipped, inFlight.get(), maxInFlight);
+            event.commit();
+        }
+        return issued;
+    }
+    
+    private void issue(World world, Map<Long, List<PendingChunk>> batches, int x, int z, int attempt, long queuedAt) {
+        inFlight.incrementAndGet();
+        
+        if (batches == null) {
+            requestChunk(world, x, z, attempt, queuedAt);
+            return;
+        }
+        
+        batches.computeIfAbsent(ChunkBitmap.regionKey(x >> 5, z >> 5), k -> new ArrayList<>())
+            .add(new PendingChunk(x, z, attempt, queuedAt));
+    }
+    
+    private void dispatch(World world, Map<Long, List<PendingChunk>> batches) {
+        for (List<PendingChunk> batch : batches.values()) {
+            PendingChunk first = batch.get(0);
+            plugin.getSchedulerAdapter().runAt(world, first.getX(), first.getZ(), () -> {
+                for (PendingChunk pending : batch) {
+                    requestChunk(world, pending.getX(), pending.getZ(), pending.getAttempt(), pending.getDue());
+                }
+            });
         }
+    }
+    
+    private void requestChunk(World world, int x, int z, int attempt, long queuedAt) {
+        boolean saturated = inFlight.get() >= getMaxInFlight();
+        long requestedAt = timeSource.nanoTime();
+        plugin.getMetricsManager().recordQueueWait(world, requestedAt - queuedAt);
+        ChunkRequestEvent.emit(world.getName(), x, z, attempt, requestedAt - queuedAt);
         
-        if (currentIndex >= chunkQueue.size()) {
-            complete = true;
+        world.getChunkAtAsync(x, z).whenComplete((chunk, throwable) -> {
+            try {
+                long latency = timeSource.nanoTime() - requestedAt;
+                ChunkCompleteEvent.emit(world.getName(), x, z, attempt, latency, chunk != null);
+                if (chunk == null) {
+                    plugin.getMetricsManager().recordFailure(world, latency);
+                    if (task.getMode() == GenerationTask.GenerationMode.ADAPTIVE) {
+                        concurrency.onFailure();
+                    }
+                    handleFailure(x, z, attempt, throwable);
+                    return;
+                }
+                
+                plugin.getMetricsManager().recordChunk(world, latency);
+                if (task.getMode() == GenerationTask.GenerationMode.ADAPTIVE) {
+                    concurrency.onComplete(latency, saturated);
+                }
+                
+                releaser.hold(chunk);
+                if (task.getProcessedChunks().add(x, z)) {
+                    task.incrementCurrentChunk();
+                    generated.incrementAndGet();
+                    plugin.getStatisticsManager().recordChunkGeneration(world, 1);
+                }
+                lastCompletion = timeSource.currentTimeMillis();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+    
+    private void handleFailure(int x, int z, int attempt, Throwable throwable) {
+        ConfigManager config = plugin.getConfigManager();
+        lastCompletion = timeSource.currentTimeMillis();
+        
+        if (attempt < config.getRetryMaxAttempts()) {
+            long delay = Math.min(config.getRetryMaxDelay(), config.getRetryBaseDelay() << Math.min(16, attempt - 1));
+            retries.add(new PendingChunk(x, z, attempt + 1, timeSource.nanoTime() + delay * 1_000_000L));
+            return;
+        }
+        
+        failedChunks.add(x, z);
+        plugin.getLogger().warning(String.format("Giving up on chunk %d, %d in world '%s' after %d attempts%s",
+            x, z, task.getWorld().getName(), attempt, throwable != null ? ": " + throwable.getMessage() : ""));
+    }
+    
+    public int getPendingRetries() {
+        return retries.size();
+    }
+    
+    public void releaseChunks() {
+        releaser.tick();
+    }
+    
+    public void releaseAll() {
+        releaser.releaseAll();
+    }
+    
+    public void drainChunks() {
+        releaser.drain();
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public int getMaxInFlight() {
+        if (task.getMode() == GenerationTask.GenerationMode.ADAPTIVE) {
+            return concurrency.getLimit();
         }
+        return Math.max(1, plugin.getConfigManager().getMaxConcurrentChunks());
+    }
+    
+    public double getWindowOccupancy() {
+        return (double) inFlight.get() / getMaxInFlight();
     }
     
     private int getChunksPerTick() {
         switch (task.getMode()) {
             case NORMAL:
-                return plugin.getConfigManager().getNormalModeChunksPerSecond() / 20;
+                return refillNormalAllowance();
             case PRO:
                 return calculateProModeChunks();
             case FAST:
                 return plugin.getConfigManager().getFastModeChunksPerTick();
+            case ADAPTIVE:
+                return concurrency.getLimit();
             default:
                 return 4;
         }
     }
     
+    public static double getNominalRate(ConfigManager config, GenerationTask.GenerationMode mode) {
+        double globalRate = Math.max(1, config.getGlobalChunksPerTick()) * 20.0;
+        switch (mode) {
+            case NORMAL:
+                return Math.min(globalRate, config.getNormalModeChunksPerSecond());
+            case PRO:
+                return Math.min(globalRate, config.getProModeMaxChunksPerTick() * 20.0);
+            case FAST:
+                return Math.min(globalRate, config.getFastModeChunksPerTick() * 20.0);
+            default:
+                return globalRate;
+        }
+    }
+    
+    private int refillNormalAllowance() {
+        long now = timeSource.nanoTime();
+        double rate = Math.max(0, plugin.getConfigManager().getNormalModeChunksPerSecond());
+        
+        if (normalRefillNanos != 0) {
+            double capacity = Math.max(1.0, rate / 20.0);
+            normalAllowance = Math.min(capacity, normalAllowance + rate * (now - normalRefillNanos) / 1_000_000_000.0);
+        }
+        normalRefillNanos = now;
+        
+        return (int) normalAllowance;
+    }
+    
     private int calculateProModeChunks() {
-        double currentTPS = getCurrentTPS();
-        double targetTPS = plugin.getConfigManager().getProModeTargetTPS();
-        double minTPS = plugin.getConfigManager().getProModeMinTPS();
-        int maxChunks = plugin.getConfigManager().getProModeMaxChunksPerTick();
-        int minChunks = plugin.getConfigManager().getProModeMinChunksPerTick();
-        
-        if (currentTPS >= targetTPS) {
-            return maxChunks;
-        } else if (currentTPS <= minTPS) {
-            return minChunks;
-        } else {
-            double ratio = (currentTPS - minTPS) / (targetTPS - minTPS);
-            return (int) (minChunks + (maxChunks - minChunks) * ratio);
-        }
-    }
-    
-    private double getCurrentTPS() {
-        try {
-            Object server = plugin.getServer().getClass().getMethod("getServer").invoke(plugin.getServer());
-            double[] recentTps = (double[]) server.getClass().getField("recentTps").get(server);
-            return Math.min(recentTps[0], 20.0);
-        } catch (Exception e) {
-            return 20.0;
+        TickMonitor monitor = plugin.getTickMonitor();
+        long tick = monitor.getTickCount();
+        
+        if (tick != throttleTick) {
+            long now = timeSource.nanoTime();
+            double dt = throttleTick < 0 ? 0.05 : (now - throttleNanos) / 1_000_000_000.0;
+            throttleTick = tick;
+            throttleNanos = now;
+            
+            ConfigManager config = plugin.getConfigManager();
+            double mean = monitor.getMeanMspt();
+            double p95 = monitor.getPercentileMspt(0.95);
+            double measured = mean + (p95 - mean) * config.getProModeP95Weight();
+            throttle.update(config.getProModeTargetMspt(), measured, dt);
+            ThrottleEvent.emit(task.getWorld().getName(), config.getProModeTargetMspt(), mean, p95, measured, throttle.getOutput());
+        }
+        
+        return (int) Math.round(throttle.getOutput());
+    }
+    
+    @Getter
+    private static final class PendingChunk {
+        private final int x;
+        private final int z;
+        private final int attempt;
+        private final long due;
+        
+        PendingChunk(int x, int z, int attempt, long due) {
+            this.x = x;
+            this.z = z;
+            this.attempt = attempt;
+            this.due = due;
         }
     }
 }
\ No newline at end of file
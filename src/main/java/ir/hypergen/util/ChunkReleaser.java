@@ -0,0 +1,125 @@
+package ir.hypergen.util;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.Selection;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ChunkReleaser {
+    private static final int SCAN_FACTOR = 4;
+    
+    private final HyperGen plugin;
+    private final GenerationTask task;
+    private final ChunkGenerator generator;
+    private final Deque<GenerationTask.ChunkCoord> resident;
+    private final AtomicInteger residentCount;
+    private final AtomicLong releasedChunks;
+    private volatile boolean closed;
+    
+    public ChunkReleaser(HyperGen plugin, GenerationTask task, ChunkGenerator generator) {
+        this.plugin = plugin;
+        this.task = task;
+        this.generator = generator;
+        this.resident = new ConcurrentLinkedDeque<>();
+        this.residentCount = new AtomicInteger();
+        this.releasedChunks = new AtomicLong();
+        this.closed = false;
+    }
+    
+    public void hold(Chunk chunk) {
+        if (closed) {
+            return;
+        }
+        
+        chunk.addPluginChunkTicket(plugin);
+        resident.addLast(new GenerationTask.ChunkCoord(chunk.getX(), chunk.getZ()));
+        residentCount.incrementAndGet();
+    }
+    
+    public void tick() {
+        int batchSize = plugin.getConfigManager().getUnloadBatchSize();
+        int maxResident = plugin.getConfigManager().getMaxResidentChunks();
+        int released = 0;
+        int scanLimit = Math.min(residentCount.get(), batchSize * SCAN_FACTOR);
+        
+        for (int scanned = 0; scanned < scanLimit && released < batchSize; scanned++) {
+            GenerationTask.ChunkCoord coord = resident.pollFirst();
+            if (coord == null) {
+                break;
+            }
+            
+            if (residentCount.get() <= maxResident && !isReleasable(coord)) {
+                resident.addLast(coord);
+                continue;
+            }
+            
+            residentCount.decrementAndGet();
+            release(coord);
+            released++;
+        }
+    }
+    
+    public void releaseAll() {
+        closed = true;
+        drain();
+    }
+    
+    public void drain() {
+        GenerationTask.ChunkCoord coord;
+        while ((coord = resident.pollFirst()) != null) {
+            residentCount.decrementAndGet();
+            release(coord);
+        }
+    }
+    
+    public boolean isSaturated(int pending) {
+        return residentCount.get() + pending >= plugin.getConfigManager().getMaxResidentChunks();
+    }
+    
+    public int getResidentChunks() {
+        return residentCount.get();
+    }
+    
+    public long getReleasedChunks() {
+        return releasedChunks.get();
+    }
+    
+    private boolean isReleasable(GenerationTask.ChunkCoord coord) {
+        Selection selection = task.getSelection();
+        int centerX = selection.getCenterX() >> 4;
+        int centerZ = selection.getCenterZ() >> 4;
+        
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if (dx == 0 && dz == 0) {
+                    continue;
+                }
+                
+                int x = coord.getX() + dx;
+                int z = coord.getZ() + dz;
+                if (selection.containsChunk(x - centerX, z - centerZ) && !generator.isDone(x, z)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    private void release(GenerationTask.ChunkCoord coord) {
+        World world = task.getWorld();
+        plugin.getSchedulerAdapter().runAt(world, coord.getX(), coord.getZ(), () -> {
+            world.removePluginChunkTicket(coord.getX(), coord.getZ(), plugin);
+            
+            if (!plugin.getSchedulerAdapter().isFolia() && world.isChunkLoaded(coord.getX(), coord.getZ())) {
+                world.unloadChunk(coord.getX(), coord.getZ(), true);
+            }
+        });
+        releasedChunks.incrementAndGet();
+    }
+}
\ No newline at end of file
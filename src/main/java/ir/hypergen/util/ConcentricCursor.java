@@ -0,0 +1,86 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+
+public class ConcentricCursor implements ChunkCursor {
+    private final Selection selection;
+    private final int centerX;
+    private final int centerZ;
+    private final int radius;
+    private final long size;
+    private int ring;
+    private int x;
+    private int z;
+    private long index;
+    private boolean started;
+    
+    public ConcentricCursor(Selection selection) {
+        this.selection = selection;
+        this.centerX = selection.getCenterX() >> 4;
+        this.centerZ = selection.getCenterZ() >> 4;
+        this.radius = selection.getCoveringRadius();
+        this.size = selection.getTotalChunks();
+        this.ring = 0;
+        this.index = 0;
+        this.started = false;
+    }
+    
+    @Override
+    public boolean next() {
+        while (advance()) {
+            if (selection.containsChunk(x, z)) {
+                index++;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean advance() {
+        if (!started) {
+            started = true;
+            x = 0;
+            z = 0;
+            return true;
+        }
+        
+        if (ring > radius) {
+            return false;
+        }
+        
+        if (ring == 0 || (x == ring && z == ring)) {
+            ring++;
+            x = -ring;
+            z = -ring;
+        } else if (Math.abs(x) == ring && z < ring) {
+            z++;
+        } else if (z == -ring) {
+            z = ring;
+        } else {
+            x++;
+            z = -ring;
+        }
+        
+        return ring <= radius;
+    }
+    
+    @Override
+    public int getX() {
+        return centerX + x;
+    }
+    
+    @Override
+    public int getZ() {
+        return centerZ + z;
+    }
+    
+    @Override
+    public long getIndex() {
+        return index;
+    }
+    
+    @Override
+    public long size() {
+        return size;
+    }
+}
\ No newline at end of file
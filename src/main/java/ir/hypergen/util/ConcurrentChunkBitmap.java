@@ -0,0 +1,77 @@
+package ir.hypergen.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ConcurrentChunkBitmap {
+    private final Map<Long, AtomicLongArray> regions;
+    private final AtomicLong size;
+    
+    public ConcurrentChunkBitmap() {
+        this.regions = new ConcurrentHashMap<>();
+        this.size = new AtomicLong();
+    }
+    
+    public boolean add(int x, int z) {
+        AtomicLongArray bits = regions.computeIfAbsent(ChunkBitmap.regionKey(x >> 5, z >> 5),
+            k -> new AtomicLongArray(ChunkBitmap.WORDS_PER_REGION));
+        int index = ((z & 31) << 5) | (x & 31);
+        long mask = 1L << (index & 63);
+        
+        long previous = bits.getAndAccumulate(index >> 6, mask, (current, bit) -> current | bit);
+        if ((previous & mask) != 0) {
+            return false;
+        }
+        size.incrementAndGet();
+        return true;
+    }
+    
+    public boolean contains(int x, int z) {
+        AtomicLongArray bits = regions.get(ChunkBitmap.regionKey(x >> 5, z >> 5));
+        if (bits == null) {
+            return false;
+        }
+        int index = ((z & 31) << 5) | (x & 31);
+        return (bits.get(index >> 6) & (1L << (index & 63))) != 0;
+    }
+    
+    public void forEach(ChunkBitmap.ChunkConsumer consumer) {
+        for (Map.Entry<Long, AtomicLongArray> entry : regions.entrySet()) {
+            int baseX = ChunkBitmap.regionX(entry.getKey()) << 5;
+            int baseZ = ChunkBitmap.regionZ(entry.getKey()) << 5;
+            AtomicLongArray bits = entry.getValue();
+            
+            for (int word = 0; word < ChunkBitmap.WORDS_PER_REGION; word++) {
+                long value = bits.get(word);
+                while (value != 0) {
+                    int index = (word << 6) | Long.numberOfTrailingZeros(value);
+                    consumer.accept(baseX + (index & 31), baseZ + (index >> 5));
+                    value &= value - 1;
+                }
+            }
+        }
+    }
+    
+    public ChunkBitmap snapshot() {
+        ChunkBitmap copy = new ChunkBitmap();
+        for (Map.Entry<Long, AtomicLongArray> entry : regions.entrySet()) {
+            AtomicLongArray bits = entry.getValue();
+            long[] words = new long[ChunkBitmap.WORDS_PER_REGION];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = bits.get(i);
+            }
+            copy.setRegion(ChunkBitmap.regionX(entry.getKey()), ChunkBitmap.regionZ(entry.getKey()), words);
+        }
+        return copy;
+    }
+    
+    public long size() {
+        return size.get();
+    }
+    
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+
+public abstract class CurveCursor implements ChunkCursor {
+    private final Selection selection;
+    private final int centerX;
+    private final int centerZ;
+    private final int radius;
+    private final int width;
+    private final int order;
+    private final long length;
+    private final long size;
+    private long distance;
+    private int x;
+    private int z;
+    private long index;
+    
+    protected int curveX;
+    protected int curveZ;
+    
+    protected CurveCursor(Selection selection) {
+        this.selection = selection;
+        this.centerX = selection.getCenterX() >> 4;
+        this.centerZ = selection.getCenterZ() >> 4;
+        this.radius = selection.getCoveringRadius();
+        this.width = radius * 2 + 1;
+        this.order = 32 - Integer.numberOfLeadingZeros(Math.max(1, width - 1));
+        this.length = 1L << (order * 2);
+        this.size = selection.getTotalChunks();
+        this.distance = 0;
+        this.index = 0;
+    }
+    
+    protected abstract void decode(long distance, int order);
+    
+    @Override
+    public boolean next() {
+        while (distance < length) {
+            decode(distance, order);
+            
+            if (curveX < width && curveZ < width) {
+                distance++;
+                int relX = curveX - radius;
+                int relZ = curveZ - radius;
+                if (selection.containsChunk(relX, relZ)) {
+                    x = relX;
+                    z = relZ;
+                    index++;
+                    return true;
+                }
+                continue;
+            }
+            
+            int level = 0;
+            while (level < order && (distance & ((1L << ((level + 1) * 2)) - 1)) == 0
+                && isOutside(curveX >> (level + 1) << (level + 1), curveZ >> (level + 1) << (level + 1))) {
+                level++;
+            }
+            distance += 1L << (level * 2);
+        }
+        return false;
+    }
+    
+    private boolean isOutside(int blockX, int blockZ) {
+        return blockX >= width || blockZ >= width;
+    }
+    
+    @Override
+    public int getX() {
+        return centerX + x;
+    }
+    
+    @Override
+    public int getZ() {
+        return centerZ + z;
+    }
+    
+    @Override
+    public long getIndex() {
+        return index;
+    }
+    
+    @Override
+    public long size() {
+        return size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package ir.hypergen.util;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+public class FoliaSchedulerAdapter implements SchedulerAdapter {
+    private static final long TICK_MILLIS = 50L;
+    
+    private final Plugin plugin;
+    
+    public FoliaSchedulerAdapter(Plugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @Override
+    public boolean isFolia() {
+        return true;
+    }
+    
+    @Override
+    public TaskHandle runTimer(Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+            Math.max(1, delayTicks), Math.max(1, periodTicks))::cancel;
+    }
+    
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+            Math.max(1, delayTicks) * TICK_MILLIS, Math.max(1, periodTicks) * TICK_MILLIS, TimeUnit.MILLISECONDS)::cancel;
+    }
+    
+    @Override
+    public TaskHandle runLater(Runnable task, long delayTicks) {
+        return Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1, delayTicks))::cancel;
+    }
+    
+    @Override
+    public TaskHandle runEntityTimer(Entity entity, Runnable task, long delayTicks, long periodTicks) {
+        ScheduledTask scheduled = entity.getScheduler().runAtFixedRate(plugin, t -> task.run(), null,
+            Math.max(1, delayTicks), Math.max(1, periodTicks));
+        return scheduled != null ? scheduled::cancel : () -> { };
+    }
+    
+    @Override
+    public void run(Runnable task) {
+        Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+    }
+    
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+    
+    @Override
+    public void runAt(World world, int chunkX, int chunkZ, Runnable task) {
+        Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+
+public class HilbertCursor extends CurveCursor {
+    
+    public HilbertCursor(Selection selection) {
+        super(selection);
+    }
+    
+    @Override
+    protected void decode(long distance, int order) {
+        long t = distance;
+        int hx = 0;
+        int hz = 0;
+        
+        for (int s = 1; s < (1 << order); s <<= 1) {
+            int rx = (int) (1 & (t >> 1));
+            int rz = (int) (1 & (t ^ rx));
+            
+            if (rz == 0) {
+                if (rx == 1) {
+                    hx = s - 1 - hx;
+                    hz = s - 1 - hz;
+                }
+                int swap = hx;
+                hx = hz;
+                hz = swap;
+            }
+            
+            hx += s * rx;
+            hz += s * rz;
+            t >>= 2;
+        }
+        
+        curveX = hx;
+        curveZ = hz;
+    }
+}
\ No newline at end of file
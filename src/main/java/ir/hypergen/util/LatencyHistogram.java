@@ -0,0 +1,91 @@
+package ir.hypergen.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+    private final LongAdder sum;
+    
+    public LatencyHistogram(double... boundsMillis) {
+        this.bounds = new long[boundsMillis.length];
+        for (int i = 0; i < boundsMillis.length; i++) {
+            bounds[i] = (long) (boundsMillis[i] * 1_000_000L);
+        }
+        this.counts = new AtomicLongArray(bounds.length + 1);
+        this.sum = new LongAdder();
+    }
+    
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+        sum.add(Math.max(0, nanos));
+    }
+    
+    private int bucketOf(long nanos) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nanos <= bounds[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+    
+    public int getBucketCount() {
+        return bounds.length + 1;
+    }
+    
+    public long getBound(int bucket) {
+        return bucket < bounds.length ? bounds[bucket] : Long.MAX_VALUE;
+    }
+    
+    public long getCount(int bucket) {
+        return counts.get(bucket);
+    }
+    
+    public long getSumNanos() {
+        return sum.sum();
+    }
+    
+    public long[] snapshot() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+    
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+    
+    public double getPercentileMillis(double percentile) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        
+        long target = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return (i < bounds.length ? bounds[i] : bounds[bounds.length - 1]) / 1_000_000.0;
+            }
+        }
+        return bounds[bounds.length - 1] / 1_000_000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+
+public class MortonCursor extends CurveCursor {
+    
+    public MortonCursor(Selection selection) {
+        super(selection);
+    }
+    
+    @Override
+    protected void decode(long distance, int order) {
+        curveX = compact(distance);
+        curveZ = compact(distance >>> 1);
+    }
+    
+    private static int compact(long value) {
+        value &= 0x5555555555555555L;
+        value = (value | (value >>> 1)) & 0x3333333333333333L;
+        value = (value | (value >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value >>> 4)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value >>> 8)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value >>> 16)) & 0x00000000FFFFFFFFL;
+        return (int) value;
+    }
+}
\ No newline at end of file
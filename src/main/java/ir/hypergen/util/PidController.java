@@ -0,0 +1,63 @@
+package ir.hypergen.util;
+
+import lombok.Getter;
+
+@Getter
+public class PidController {
+    private final double kp;
+    private final double ki;
+    private final double kd;
+    private final double minOutput;
+    private final double maxOutput;
+    private double integral;
+    private double lastMeasurement;
+    private double output;
+    private boolean primed;
+    
+    public PidController(double kp, double ki, double kd, double minOutput, double maxOutput) {
+        this.kp = kp;
+        this.ki = ki;
+        this.kd = kd;
+        this.minOutput = Math.min(minOutput, maxOutput);
+        this.maxOutput = Math.max(minOutput, maxOutput);
+        reset(this.minOutput);
+    }
+    
+    public void reset(double initialOutput) {
+        this.output = clamp(initialOutput);
+        this.integral = ki != 0 ? output / ki : 0;
+        this.lastMeasurement = 0;
+        this.primed = false;
+    }
+    
+    public double update(double setpoint, double measurement, double dtSeconds) {
+        if (dtSeconds <= 0) {
+            return output;
+        }
+        
+        double error = setpoint - measurement;
+        double derivative = primed ? -(measurement - lastMeasurement) / dtSeconds : 0;
+        lastMeasurement = measurement;
+        primed = true;
+        
+        double candidate = integral + error * dtSeconds;
+        double unclamped = kp * error + ki * candidate + kd * derivative;
+        
+        boolean saturatedHigh = unclamped > maxOutput && error > 0;
+        boolean saturatedLow = unclamped < minOutput && error < 0;
+        if (!saturatedHigh && !saturatedLow) {
+            integral = candidate;
+        }
+        
+        if (ki != 0) {
+            integral = Math.max(minOutput / ki, Math.min(maxOutput / ki, integral));
+        }
+        
+        output = clamp(kp * error + ki * integral + kd * derivative);
+        return output;
+    }
+    
+    private double clamp(double value) {
+        return Math.max(minOutput, Math.min(maxOutput, value));
+    }
+}
\ No newline at end of file
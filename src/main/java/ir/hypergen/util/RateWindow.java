@@ -0,0 +1,62 @@
+package ir.hypergen.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class RateWindow {
+    private final long[] buckets;
+    private final LongAdder pending;
+    private long currentSecond;
+    private long startSecond;
+    
+    public RateWindow(int seconds) {
+        this.buckets = new long[Math.max(1, seconds)];
+        this.pending = new LongAdder();
+        this.currentSecond = -1;
+    }
+    
+    public void add(long count) {
+        pending.add(count);
+    }
+    
+    public synchronized void roll(long nowMillis) {
+        long second = nowMillis / 1000;
+        if (currentSecond < 0) {
+            currentSecond = second;
+            startSecond = second;
+            return;
+        }
+        if (second <= currentSecond) {
+            return;
+        }
+        
+        buckets[(int) (currentSecond % buckets.length)] = pending.sumThenReset();
+        long gap = Math.min(second - currentSecond - 1, buckets.length);
+        for (long i = 1; i <= gap; i++) {
+            buckets[(int) ((currentSecond + i) % buckets.length)] = 0;
+        }
+        currentSecond = second;
+    }
+    
+    public synchronized double getRate(long nowMillis, int seconds) {
+        roll(nowMillis);
+        int window = (int) Math.min(Math.min(seconds, buckets.length - 1), currentSecond - startSecond);
+        if (window <= 0) {
+            return 0;
+        }
+        
+        long total = 0;
+        for (int i = 1; i <= window; i++) {
+            total += buckets[(int) Math.floorMod(currentSecond - i, (long) buckets.length)];
+        }
+        return (double) total / window;
+    }
+    
+    public synchronized double getPeakRate(long nowMillis) {
+        roll(nowMillis);
+        long peak = 0;
+        for (int i = 1; i < buckets.length; i++) {
+            peak = Math.max(peak, buckets[(int) Math.floorMod(currentSecond - i, (long) buckets.length)]);
+        }
+        return peak;
+    }
+}
\ No newline at end of file
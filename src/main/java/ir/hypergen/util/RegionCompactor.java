@@ -0,0 +1,205 @@
+package ir.hypergen.util;
+
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class RegionCompactor {
+    private static final Pattern REGION_NAME = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+    private static final int HEADER_SECTORS = 2;
+    
+    private final List<File> folders;
+    private final Set<Long> targetRegions;
+    private final int threads;
+    
+    public RegionCompactor(List<File> folders, Set<Long> targetRegions, int threads) {
+        this.folders = folders;
+        this.targetRegions = targetRegions;
+        this.threads = threads;
+    }
+    
+    public Result compact() throws InterruptedException {
+        Result result = new Result();
+        ExecutorService pool = RegionFiles.newWorkerPool("Compact", threads);
+        
+        try {
+            for (File folder : folders) {
+                File[] files = folder.listFiles();
+                if (files == null) {
+                    continue;
+                }
+                
+                for (File file : files) {
+                    Matcher matcher = REGION_NAME.matcher(file.getName());
+                    if (!matcher.matches()) {
+                        continue;
+                    }
+                    
+                    int regionX = Integer.parseInt(matcher.group(1));
+                    int regionZ = Integer.parseInt(matcher.group(2));
+                    long key = ChunkBitmap.regionKey(regionX, regionZ);
+                    if (targetRegions != null && !targetRegions.contains(key)) {
+                        continue;
+                    }
+                    pool.execute(() -> compactRegion(file.toPath(), result));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        
+        if (!pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+    
+    private void compactRegion(Path file, Result result) {
+        result.regionsScanned.incrementAndGet();
+        
+        Path temp = file.resolveSibling(file.getFileName() + ".compact");
+        try {
+            long size = Files.size(file);
+            long compactedSize;
+            
+            try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer header = RegionFiles.readHeader(source);
+                if (header == null) {
+                    return;
+                }
+                
+                List<Entry> entries = readEntries(source, header, size);
+                if (entries == null) {
+                    result.regionsSkipped.incrementAndGet();
+                    return;
+                }
+                if (isCompact(entries, size)) {
+                    return;
+                }
+                
+                try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    int next = HEADER_SECTORS;
+                    for (Entry entry : entries) {
+                        transfer(source, (long) entry.getOffset() * RegionFiles.SECTOR_SIZE,
+                            (long) entry.getUsed() * RegionFiles.SECTOR_SIZE, target, (long) next * RegionFiles.SECTOR_SIZE);
+                        header.putInt(entry.getIndex() * 4, (next << 8) | entry.getUsed());
+                        next += entry.getUsed();
+                    }
+                    
+                    compactedSize = (long) next * RegionFiles.SECTOR_SIZE;
+                    if (target.size() < compactedSize) {
+                        target.write(ByteBuffer.allocate(1), compactedSize - 1);
+                    }
+                    RegionFiles.writeHeader(target, header);
+                    target.force(true);
+                }
+            }
+            
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            result.regionsCompacted.incrementAndGet();
+            result.bytesSaved.addAndGet(size - compactedSize);
+        } catch (IOException e) {
+            result.errors.incrementAndGet();
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+    
+    private List<Entry> readEntries(FileChannel channel, ByteBuffer header, long size) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        ByteBuffer length = ByteBuffer.allocate(4);
+        
+        for (int index = 0; index < RegionFiles.CHUNKS_PER_REGION; index++) {
+            int location = header.getInt(index * 4);
+            if (location == 0) {
+                continue;
+            }
+            
+            int offset = RegionFiles.sectorOffset(location);
+            int allocated = RegionFiles.sectorCount(location);
+            if (offset < HEADER_SECTORS || allocated == 0 || (long) (offset + allocated) * RegionFiles.SECTOR_SIZE > size) {
+                return null;
+            }
+            
+            length.clear();
+            channel.read(length, (long) offset * RegionFiles.SECTOR_SIZE);
+            int bytes = length.getInt(0);
+            int used = (int) ((bytes + 4L + RegionFiles.SECTOR_SIZE - 1) / RegionFiles.SECTOR_SIZE);
+            if (bytes <= 0 || used > allocated) {
+                used = allocated;
+            }
+            entries.add(new Entry(index, offset, allocated, used));
+        }
+        
+        entries.sort(Comparator.comparingInt(Entry::getOffset));
+        return entries;
+    }
+    
+    private boolean isCompact(List<Entry> entries, long size) {
+        long expected = HEADER_SECTORS;
+        for (Entry entry : entries) {
+            if (entry.getOffset() != expected || entry.getUsed() != entry.getAllocated()) {
+                return false;
+            }
+            expected += entry.getUsed();
+        }
+        return size == expected * RegionFiles.SECTOR_SIZE;
+    }
+    
+    private static void transfer(FileChannel source, long position, long count, FileChannel target, long targetPosition) throws IOException {
+        target.position(targetPosition);
+        long remaining = count;
+        while (remaining > 0) {
+            long transferred = source.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+    
+    @Getter
+    private static final class Entry {
+        private final int index;
+        private final int offset;
+        private final int allocated;
+        private final int used;
+        
+        Entry(int index, int offset, int allocated, int used) {
+            this.index = index;
+            this.offset = offset;
+            this.allocated = allocated;
+            this.used = used;
+        }
+    }
+    
+    @Getter
+    public static class Result {
+        private final AtomicInteger regionsScanned = new AtomicInteger();
+        private final AtomicInteger regionsCompacted = new AtomicInteger();
+        private final AtomicInteger regionsSkipped = new AtomicInteger();
+        private final AtomicLong bytesSaved = new AtomicLong();
+        private final AtomicInteger errors = new AtomicInteger();
+    }
+}
\ No newline at end of file
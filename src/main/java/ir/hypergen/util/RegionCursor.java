@@ -0,0 +1,114 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+
+public class RegionCursor implements ChunkCursor {
+    private static final int REGION_SIZE = 32;
+    
+    private final Selection selection;
+    private final int centerX;
+    private final int centerZ;
+    private final int minX;
+    private final int maxX;
+    private final int minZ;
+    private final int maxZ;
+    private final int centerRegionX;
+    private final int centerRegionZ;
+    private final long size;
+    private final SpiralWalk regions;
+    private int regionX;
+    private int regionZ;
+    private int local;
+    private int x;
+    private int z;
+    private long index;
+    
+    public RegionCursor(Selection selection) {
+        this.selection = selection;
+        this.centerX = selection.getCenterX() >> 4;
+        this.centerZ = selection.getCenterZ() >> 4;
+        this.minX = selection.getMinRelX();
+        this.maxX = selection.getMaxRelX();
+        this.minZ = selection.getMinRelZ();
+        this.maxZ = selection.getMaxRelZ();
+        this.centerRegionX = centerX >> 5;
+        this.centerRegionZ = centerZ >> 5;
+        this.size = selection.getTotalChunks();
+        
+        int regionRadius = Math.max(
+            Math.max(centerRegionX - ((centerX + minX) >> 5), ((centerX + maxX) >> 5) - centerRegionX),
+            Math.max(centerRegionZ - ((centerZ + minZ) >> 5), ((centerZ + maxZ) >> 5) - centerRegionZ)
+        );
+        this.regions = new SpiralWalk(regionRadius);
+        this.local = REGION_SIZE * REGION_SIZE;
+        this.index = 0;
+    }
+    
+    @Override
+    public boolean next() {
+        while (true) {
+            while (local < REGION_SIZE * REGION_SIZE) {
+                int relX = (regionX << 5) + (local & 31) - centerX;
+                int relZ = (regionZ << 5) + (local >> 5) - centerZ;
+                local++;
+                
+                if (selection.containsChunk(relX, relZ)) {
+                    x = relX;
+                    z = relZ;
+                    index++;
+                    return true;
+                }
+            }
+            
+            if (!nextRegion()) {
+                return false;
+            }
+        }
+    }
+    
+    private boolean nextRegion() {
+        while (regions.advance()) {
+            regionX = centerRegionX + regions.getX();
+            regionZ = centerRegionZ + regions.getZ();
+            
+            int regionMinX = (regionX << 5) - centerX;
+            int regionMinZ = (regionZ << 5) - centerZ;
+            if (regionMinX > maxX || regionMinX + REGION_SIZE - 1 < minX
+                || regionMinZ > maxZ || regionMinZ + REGION_SIZE - 1 < minZ) {
+                continue;
+            }
+            
+            local = 0;
+            return true;
+        }
+        return false;
+    }
+    
+    public int getRegionX() {
+        return regionX;
+    }
+    
+    public int getRegionZ() {
+        return regionZ;
+    }
+    
+    @Override
+    public int getX() {
+        return centerX + x;
+    }
+    
+    @Override
+    public int getZ() {
+        return centerZ + z;
+    }
+    
+    @Override
+    public long getIndex() {
+        return index;
+    }
+    
+    @Override
+    public long size() {
+        return size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package ir.hypergen.util;
+
+import org.bukkit.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class RegionFiles {
+    public static final int SECTOR_SIZE = 4096;
+    public static final int CHUNKS_PER_REGION = 1024;
+    
+    private RegionFiles() {
+    }
+    
+    public static File getRegionFolder(World world) {
+        return new File(getDimensionFolder(world), "region");
+    }
+    
+    public static List<File> getStorageFolders(World world) {
+        File dimension = getDimensionFolder(world);
+        return Arrays.asList(new File(dimension, "region"), new File(dimension, "entities"), new File(dimension, "poi"));
+    }
+    
+    private static File getDimensionFolder(World world) {
+        File worldFolder = world.getWorldFolder();
+        switch (world.getEnvironment()) {
+            case NETHER:
+                return new File(worldFolder, "DIM-1");
+            case THE_END:
+                return new File(worldFolder, "DIM1");
+            default:
+                return worldFolder;
+        }
+    }
+    
+    public static ExecutorService newWorkerPool(String name, int threads) {
+        AtomicInteger threadId = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "HyperGen-" + name + "-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SECTOR_SIZE * 2);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                return null;
+            }
+        }
+        return header;
+    }
+    
+    public static void writeHeader(FileChannel channel, ByteBuffer header) throws IOException {
+        header.clear();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+    
+    public static Path getRegionFile(File regionFolder, int regionX, int regionZ) {
+        return new File(regionFolder, "r." + regionX + "." + regionZ + ".mca").toPath();
+    }
+    
+    public static int headerIndex(int x, int z) {
+        return ((z & 31) << 5) | (x & 31);
+    }
+    
+    public static int[] readLocations(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < SECTOR_SIZE) {
+            return null;
+        }
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SECTOR_SIZE);
+            int[] locations = new int[CHUNKS_PER_REGION];
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                locations[i] = header.getInt(i * 4);
+            }
+            return locations;
+        }
+    }
+    
+    public static int sectorOffset(int location) {
+        return location >>> 8;
+    }
+    
+    public static int sectorCount(int location) {
+        return location & 0xFF;
+    }
+    
+    public static ByteBuffer readChunkPayload(FileChannel channel, int location) throws IOException {
+        long offset = (long) sectorOffset(location) * SECTOR_SIZE;
+        int length = sectorCount(location) * SECTOR_SIZE;
+        if (offset < 2L * SECTOR_SIZE || length == 0 || offset + length > channel.size()) {
+            return null;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
\ No newline at end of file
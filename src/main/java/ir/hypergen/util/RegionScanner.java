@@ -0,0 +1,146 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+import org.bukkit.World;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class RegionScanner {
+    private static final byte[] STATUS_TAG = {0x08, 0x00, 0x06, 'S', 't', 'a', 't', 'u', 's'};
+    
+    private final File regionFolder;
+    private final boolean verifyStatus;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+    
+    public RegionScanner(World world, Selection selection, boolean verifyStatus) {
+        this.regionFolder = RegionFiles.getRegionFolder(world);
+        this.verifyStatus = verifyStatus;
+        this.minChunkX = (selection.getCenterX() >> 4) + selection.getMinRelX();
+        this.minChunkZ = (selection.getCenterZ() >> 4) + selection.getMinRelZ();
+        this.maxChunkX = (selection.getCenterX() >> 4) + selection.getMaxRelX();
+        this.maxChunkZ = (selection.getCenterZ() >> 4) + selection.getMaxRelZ();
+    }
+    
+    public ChunkBitmap scan() {
+        List<Long> keys = new ArrayList<>();
+        for (int regionX = minChunkX >> 5; regionX <= maxChunkX >> 5; regionX++) {
+            for (int regionZ = minChunkZ >> 5; regionZ <= maxChunkZ >> 5; regionZ++) {
+                keys.add(ChunkBitmap.regionKey(regionX, regionZ));
+            }
+        }
+        
+        Map<Long, long[]> results = new ConcurrentHashMap<>();
+        keys.parallelStream().forEach(key -> {
+            long[] bits = scanRegion(ChunkBitmap.regionX(key), ChunkBitmap.regionZ(key));
+            if (bits != null) {
+                results.put(key, bits);
+            }
+        });
+        
+        ChunkBitmap bitmap = new ChunkBitmap();
+        results.forEach((key, bits) -> bitmap.setRegion(ChunkBitmap.regionX(key), ChunkBitmap.regionZ(key), bits));
+        return bitmap;
+    }
+    
+    private long[] scanRegion(int regionX, int regionZ) {
+        Path file = RegionFiles.getRegionFile(regionFolder, regionX, regionZ);
+        
+        try {
+            int[] locations = RegionFiles.readLocations(file);
+            if (locations == null) {
+                return null;
+            }
+            
+            long[] bits = new long[RegionFiles.CHUNKS_PER_REGION / 64];
+            boolean found = false;
+            
+            try (FileChannel channel = verifyStatus ? FileChannel.open(file, StandardOpenOption.READ) : null) {
+                for (int index = 0; index < RegionFiles.CHUNKS_PER_REGION; index++) {
+                    if (locations[index] == 0) {
+                        continue;
+                    }
+                    if (channel != null && !isFullChunk(channel, locations[index])) {
+                        continue;
+                    }
+                    bits[index >> 6] |= 1L << (index & 63);
+                    found = true;
+                }
+            }
+            
+            return found ? bits : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    private boolean isFullChunk(FileChannel channel, int location) throws IOException {
+        ByteBuffer payload = RegionFiles.readChunkPayload(channel, location);
+        if (payload == null || payload.remaining() < 5) {
+            return false;
+        }
+        
+        int length = payload.getInt();
+        byte compression = payload.get();
+        if (length <= 1 || length - 1 > payload.remaining()) {
+            return false;
+        }
+        
+        InputStream in = new ByteArrayInputStream(payload.array(), payload.position(), length - 1);
+        switch (compression) {
+            case 1:
+                in = new GZIPInputStream(in);
+                break;
+            case 2:
+                in = new InflaterInputStream(in);
+                break;
+            case 3:
+                break;
+            default:
+                return false;
+        }
+        
+        byte[] data;
+        try (InputStream stream = in) {
+            data = stream.readAllBytes();
+        }
+        return isFullStatus(data);
+    }
+    
+    private static boolean isFullStatus(byte[] data) {
+        outer:
+        for (int i = 0; i <= data.length - STATUS_TAG.length - 2; i++) {
+            for (int j = 0; j < STATUS_TAG.length; j++) {
+                if (data[i + j] != STATUS_TAG[j]) {
+                    continue outer;
+                }
+            }
+            
+            int start = i + STATUS_TAG.length;
+            int length = ((data[start] & 0xFF) << 8) | (data[start + 1] & 0xFF);
+            if (start + 2 + length > data.length) {
+                return false;
+            }
+            
+            String status = new String(data, start + 2, length, StandardCharsets.UTF_8);
+            return status.equals("minecraft:full") || status.equals("full");
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package ir.hypergen.util;
+
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class RegionTrimmer {
+    private static final Pattern REGION_NAME = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+    private static final int HEADER_SIZE = RegionFiles.SECTOR_SIZE * 2;
+    
+    private final List<File> folders;
+    private final ChunkFilter filter;
+    private final int threads;
+    
+    public RegionTrimmer(List<File> folders, ChunkFilter filter, int threads) {
+        this.folders = folders;
+        this.filter = filter;
+        this.threads = Math.max(1, threads);
+    }
+    
+    public Result trim() throws InterruptedException {
+        Result result = new Result();
+        ExecutorService pool = RegionFiles.newWorkerPool("Trim", threads);
+        
+        try {
+            for (File folder : folders) {
+                File[] files = folder.listFiles();
+                if (files == null) {
+                    continue;
+                }
+                
+                for (File file : files) {
+                    Matcher matcher = REGION_NAME.matcher(file.getName());
+                    if (!matcher.matches()) {
+                        continue;
+                    }
+                    
+                    int regionX = Integer.parseInt(matcher.group(1));
+                    int regionZ = Integer.parseInt(matcher.group(2));
+                    pool.execute(() -> trimRegion(file.toPath(), regionX, regionZ, result));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        
+        if (!pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+    
+    private void trimRegion(Path file, int regionX, int regionZ, Result result) {
+        result.regionsScanned.incrementAndGet();
+        
+        if (isFullyKept(regionX, regionZ)) {
+            return;
+        }
+        
+        try {
+            long size = Files.size(file);
+            if (size < HEADER_SIZE) {
+                return;
+            }
+            
+            int removed = 0;
+            int remaining = 0;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer header = RegionFiles.readHeader(channel);
+                if (header == null) {
+                    return;
+                }
+                
+                for (int index = 0; index < RegionFiles.CHUNKS_PER_REGION; index++) {
+                    if (header.getInt(index * 4) == 0) {
+                        continue;
+                    }
+                    
+                    int x = (regionX << 5) + (index & 31);
+                    int z = (regionZ << 5) + (index >> 5);
+                    if (filter.keep(x, z)) {
+                        remaining++;
+                        continue;
+                    }
+                    
+                    header.putInt(index * 4, 0);
+                    header.putInt(RegionFiles.SECTOR_SIZE + index * 4, 0);
+                    Files.deleteIfExists(file.resolveSibling("c." + x + "." + z + ".mcc"));
+                    removed++;
+                }
+                
+                if (removed > 0 && remaining > 0) {
+                    RegionFiles.writeHeader(channel, header);
+                    channel.force(false);
+                }
+            }
+            
+            result.chunksRemoved.addAndGet(removed);
+            if (remaining == 0 && Files.deleteIfExists(file)) {
+                result.regionsDeleted.incrementAndGet();
+                result.bytesFreed.addAndGet(size);
+            } else if (removed > 0) {
+                result.regionsTrimmed.incrementAndGet();
+            }
+        } catch (IOException e) {
+            result.errors.incrementAndGet();
+        }
+    }
+    
+    private boolean isFullyKept(int regionX, int regionZ) {
+        for (int index = 0; index < RegionFiles.CHUNKS_PER_REGION; index++) {
+            if (!filter.keep((regionX << 5) + (index & 31), (regionZ << 5) + (index >> 5))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @FunctionalInterface
+    public interface ChunkFilter {
+        boolean keep(int x, int z);
+    }
+    
+    @Getter
+    public static class Result {
+        private final AtomicInteger regionsScanned = new AtomicInteger();
+        private final AtomicInteger regionsTrimmed = new AtomicInteger();
+        private final AtomicInteger regionsDeleted = new AtomicInteger();
+        private final AtomicLong chunksRemoved = new AtomicLong();
+        private final AtomicLong bytesFreed = new AtomicLong();
+        private final AtomicInteger errors = new AtomicInteger();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package ir.hypergen.util;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+public interface SchedulerAdapter {
+    
+    boolean isFolia();
+    
+    TaskHandle runTimer(Runnable task, long delayTicks, long periodTicks);
+    
+    TaskHandle runAsyncTimer(Runnable task, long delayTicks, long periodTicks);
+    
+    TaskHandle runLater(Runnable task, long delayTicks);
+    
+    TaskHandle runEntityTimer(Entity entity, Runnable task, long delayTicks, long periodTicks);
+    
+    void run(Runnable task);
+    
+    void runAsync(Runnable task);
+    
+    void runAt(World world, int chunkX, int chunkZ, Runnable task);
+    
+    static SchedulerAdapter create(Plugin plugin) {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return new FoliaSchedulerAdapter(plugin);
+        } catch (ClassNotFoundException e) {
+            return new BukkitSchedulerAdapter(plugin);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package ir.hypergen.util;
+
+import ir.hypergen.model.Selection;
+
+public class SpiralCursor implements ChunkCursor {
+    private final Selection selection;
+    private final int centerX;
+    private final int centerZ;
+    private final long size;
+    private final SpiralWalk walk;
+    private long index;
+    
+    public SpiralCursor(Selection selection) {
+        this.selection = selection;
+        this.centerX = selection.getCenterX() >> 4;
+        this.centerZ = selection.getCenterZ() >> 4;
+        this.size = selection.getTotalChunks();
+        this.walk = new SpiralWalk(selection.getCoveringRadius());
+        this.index = 0;
+    }
+    
+    @Override
+    public boolean next() {
+        while (walk.advance()) {
+            if (selection.containsChunk(walk.getX(), walk.getZ())) {
+                index++;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public int getX() {
+        return centerX + walk.getX();
+    }
+    
+    @Override
+    public int getZ() {
+        return centerZ + walk.getZ();
+    }
+    
+    @Override
+    public long getIndex() {
+        return index;
+    }
+    
+    @Override
+    public long size() {
+        return size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package ir.hypergen.util;
+
+class SpiralWalk {
+    private final int radius;
+    private int ring;
+    private int side;
+    private int step;
+    private int x;
+    private int z;
+    private boolean started;
+    
+    SpiralWalk(int radius) {
+        this.radius = radius;
+        this.ring = 0;
+        this.side = 0;
+        this.step = 0;
+        this.started = false;
+    }
+    
+    boolean advance() {
+        if (!started) {
+            started = true;
+            x = 0;
+            z = 0;
+            return true;
+        }
+        
+        if (ring == 0 || ++step == ring * 2) {
+            step = 0;
+            if (ring == 0 || ++side == 4) {
+                side = 0;
+                ring++;
+            }
+        }
+        
+        if (ring > radius) {
+            return false;
+        }
+        
+        switch (side) {
+            case 0:
+                x = ring;
+                z = -ring + 1 + step;
+                break;
+            case 1:
+                x = ring - 1 - step;
+                z = ring;
+                break;
+            case 2:
+                x = -ring;
+                z = ring - 1 - step;
+                break;
+            default:
+                x = -ring + 1 + step;
+                z = -ring;
+                break;
+        }
+        return true;
+    }
+    
+    int getX() {
+        return x;
+    }
+    
+    int getZ() {
+        return z;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,428 @@
+package ir.hypergen.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class StatsLog {
+    private static final Pattern SEGMENT_NAME = Pattern.compile("stats-(\\d+)\\.log");
+    private static final int FORMAT_VERSION = 1;
+    private static final long SEGMENT_MAX_AGE = TimeUnit.DAYS.toMillis(1);
+    private static final long CLOSE_TIMEOUT = 5000;
+    private static final int MAX_PENDING = 65536;
+    private static final long MIN_RETRY_DELAY = 1000;
+    private static final long MAX_RETRY_DELAY = 60000;
+    
+    private final File folder;
+    private final long fsyncIntervalMillis;
+    private final long segmentMaxBytes;
+    private final long minuteRollupMillis;
+    private final long hourRollupMillis;
+    private final Logger logger;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong dropped;
+    
+    private volatile boolean running;
+    private Thread writer;
+    private BufferedWriter out;
+    private FileOutputStream stream;
+    private long segmentBytes;
+    private long segmentOpened;
+    private long nextSequence;
+    
+    public StatsLog(File folder, long fsyncIntervalMillis, long segmentMaxBytes, long minuteRollupMillis, long hourRollupMillis, Logger logger) {
+        this.folder = folder;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.minuteRollupMillis = minuteRollupMillis;
+        this.hourRollupMillis = hourRollupMillis;
+        this.logger = logger;
+        this.queue = new LinkedBlockingQueue<>(MAX_PENDING);
+        this.dropped = new AtomicLong();
+    }
+    
+    public void open() {
+        if (running) {
+            return;
+        }
+        
+        folder.mkdirs();
+        running = true;
+        writer = new Thread(this::writeLoop, "HyperGen-Stats-Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    public void close() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        
+        try {
+            writer.join(CLOSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+    
+    public void appendSample(String world, long second, long chunks, double peak) {
+        append("R " + second + " 1 " + chunks + " " + formatRate(peak) + " " + world);
+    }
+    
+    public void appendSession(String world, long startMillis, long endMillis, long activeMillis, long chunks, Outcome outcome) {
+        append("S " + startMillis + " " + endMillis + " " + activeMillis + " " + chunks + " " + outcome.code + " " + world);
+    }
+    
+    public void appendBaseline(String world, long millis, long chunks, long activeMillis, long timedChunks, int sessions,
+                               int completed, int cancelled, double peak, long lastGeneration) {
+        append("B " + millis + " " + chunks + " " + activeMillis + " " + timedChunks + " " + sessions + " "
+            + completed + " " + cancelled + " " + formatRate(peak) + " " + lastGeneration + " " + world);
+    }
+    
+    private void append(String line) {
+        if (!running || !queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    public void scan(long sinceMillis, Visitor visitor) throws IOException {
+        for (File segment : listSegments()) {
+            if (sinceMillis > 0 && segment.lastModified() < sinceMillis) {
+                continue;
+            }
+            
+            try (BufferedReader reader = Files.newBufferedReader(segment.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    dispatch(line, sinceMillis, visitor);
+                }
+            }
+        }
+    }
+    
+    private void dispatch(String line, long sinceMillis, Visitor visitor) {
+        String[] parts;
+        try {
+            switch (line.isEmpty() ? ' ' : line.charAt(0)) {
+                case 'R':
+                    parts = line.split(" ", 6);
+                    long second = Long.parseLong(parts[1]);
+                    int span = Integer.parseInt(parts[2]);
+                    if ((second + span) * 1000 > sinceMillis) {
+                        visitor.sample(parts[5], second, span, Long.parseLong(parts[3]), Double.parseDouble(parts[4]));
+                    }
+                    break;
+                case 'S':
+                    parts = line.split(" ", 7);
+                    long end = Long.parseLong(parts[2]);
+                    Outcome outcome = Outcome.of(parts[5]);
+                    if (end >= sinceMillis && outcome != null) {
+                        visitor.session(parts[6], Long.parseLong(parts[1]), end, Long.parseLong(parts[3]), Long.parseLong(parts[4]), outcome);
+                    }
+                    break;
+                case 'B':
+                    parts = line.split(" ", 11);
+                    if (sinceMillis <= 0) {
+                        visitor.baseline(parts[10], Long.parseLong(parts[2]), Long.parseLong(parts[3]), Long.parseLong(parts[4]),
+                            Integer.parseInt(parts[5]), Integer.parseInt(parts[6]), Integer.parseInt(parts[7]),
+                            Double.parseDouble(parts[8]), Long.parseLong(parts[9]));
+                    }
+                    break;
+            }
+        } catch (RuntimeException ignored) {
+        }
+    }
+    
+    private void writeLoop() {
+        List<String> batch = new ArrayList<>();
+        long lastSync = System.currentTimeMillis();
+        long retryDelay = 0;
+        boolean dirty = false;
+        
+        try {
+            compactSegments();
+            nextSequence = listSegments().stream().mapToLong(StatsLog::sequenceOf).max().orElse(0) + 1;
+            
+            while (running || !queue.isEmpty() || !batch.isEmpty()) {
+                try {
+                    if (retryDelay > 0) {
+                        Thread.sleep(retryDelay);
+                    }
+                    if (batch.isEmpty()) {
+                        String line = queue.poll(fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+                        if (line != null) {
+                            batch.add(line);
+                            queue.drainTo(batch);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    queue.drainTo(batch);
+                }
+                
+                try {
+                    if (!batch.isEmpty()) {
+                        write(batch);
+                        batch.clear();
+                        dirty = true;
+                    }
+                    
+                    long now = System.currentTimeMillis();
+                    if (dirty && (now - lastSync >= fsyncIntervalMillis || !running)) {
+                        sync();
+                        lastSync = now;
+                        dirty = false;
+                        reportDropped();
+                    }
+                    
+                    if (out != null && (segmentBytes >= segmentMaxBytes || now - segmentOpened >= SEGMENT_MAX_AGE)) {
+                        closeSegment();
+                        compactSegments();
+                    }
+                    retryDelay = 0;
+                } catch (IOException e) {
+                    if (out != null) {
+                        dropped.addAndGet(batch.size());
+                        batch.clear();
+                    }
+                    abandonSegment();
+                    dirty = false;
+                    
+                    if (!running) {
+                        logger.log(Level.SEVERE, "Failed to write statistics while closing, " + (batch.size() + queue.size()) + " records were not written", e);
+                        return;
+                    }
+                    
+                    retryDelay = Math.min(MAX_RETRY_DELAY, Math.max(MIN_RETRY_DELAY, retryDelay * 2));
+                    logger.warning("Failed to write statistics, reopening the log in " + retryDelay + "ms: " + e.getMessage());
+                }
+            }
+        } finally {
+            running = false;
+            try {
+                closeSegment();
+            } catch (IOException e) {
+                logger.warning("Failed to close statistics segment: " + e.getMessage());
+            }
+            reportDropped();
+        }
+    }
+    
+    private void write(List<String> lines) throws IOException {
+        if (out == null) {
+            openSegment();
+        }
+        
+        for (String line : lines) {
+            out.write(line);
+            out.write('\n');
+            segmentBytes += line.length() + 1;
+        }
+    }
+    
+    private void sync() throws IOException {
+        if (out != null) {
+            out.flush();
+            stream.getChannel().force(false);
+        }
+    }
+    
+    private void openSegment() throws IOException {
+        File file = new File(folder, String.format("stats-%08d.log", nextSequence++));
+        stream = new FileOutputStream(file, true);
+        out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        segmentOpened = System.currentTimeMillis();
+        segmentBytes = 0;
+        write(List.of(header(1)));
+    }
+    
+    private void abandonSegment() {
+        try {
+            closeSegment();
+        } catch (IOException ignored) {
+        }
+        out = null;
+        stream = null;
+    }
+    
+    private void reportDropped() {
+        long count = dropped.getAndSet(0);
+        if (count > 0) {
+            logger.warning(count + " statistics records were dropped because the writer could not keep up or failed");
+        }
+    }
+    
+    private void closeSegment() throws IOException {
+        if (out == null) {
+            return;
+        }
+        
+        try {
+            sync();
+        } finally {
+            out.close();
+            out = null;
+            stream = null;
+        }
+    }
+    
+    private void compactSegments() {
+        long now = System.currentTimeMillis();
+        for (File segment : listSegments()) {
+            long age = now - segment.lastModified();
+            int resolution = age >= hourRollupMillis ? 3600 : age >= minuteRollupMillis ? 60 : 1;
+            if (resolution == 1) {
+                continue;
+            }
+            
+            try {
+                compact(segment, resolution);
+            } catch (IOException e) {
+                logger.warning("Failed to compact statistics segment " + segment.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    private void compact(File segment, int resolution) throws IOException {
+        Path source = segment.toPath();
+        long modified = segment.lastModified();
+        Map<String, long[]> buckets = new LinkedHashMap<>();
+        Map<String, Double> peaks = new LinkedHashMap<>();
+        List<String> kept = new ArrayList<>();
+        
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || resolutionOf(line) >= resolution) {
+                return;
+            }
+            
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("R ")) {
+                    String[] parts = line.split(" ", 6);
+                    try {
+                        long bucket = Long.parseLong(parts[1]) / resolution * resolution;
+                        String key = bucket + " " + parts[5];
+                        buckets.computeIfAbsent(key, k -> new long[1])[0] += Long.parseLong(parts[3]);
+                        peaks.merge(key, Double.parseDouble(parts[4]), Math::max);
+                    } catch (RuntimeException ignored) {
+                    }
+                } else if (line.startsWith("S ") || line.startsWith("B ")) {
+                    kept.add(line);
+                }
+            }
+        }
+        
+        Path temp = source.resolveSibling(segment.getName() + ".compact");
+        try (FileOutputStream target = new FileOutputStream(temp.toFile());
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8))) {
+            writer.write(header(resolution));
+            writer.write('\n');
+            for (Map.Entry<String, long[]> entry : buckets.entrySet()) {
+                String[] key = entry.getKey().split(" ", 2);
+                writer.write("R " + key[0] + " " + resolution + " " + entry.getValue()[0] + " "
+                    + formatRate(peaks.get(entry.getKey())) + " " + key[1]);
+                writer.write('\n');
+            }
+            for (String line : kept) {
+                writer.write(line);
+                writer.write('\n');
+            }
+            writer.flush();
+            target.getChannel().force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        
+        Files.move(temp, source, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        segment.setLastModified(modified);
+    }
+    
+    private List<File> listSegments() {
+        File[] files = folder.listFiles((dir, name) -> SEGMENT_NAME.matcher(name).matches());
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        
+        List<File> segments = new ArrayList<>(Arrays.asList(files));
+        segments.sort(Comparator.comparingLong(StatsLog::sequenceOf));
+        return segments;
+    }
+    
+    private static long sequenceOf(File file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+    
+    private static String header(int resolution) {
+        return "V " + FORMAT_VERSION + " " + resolution;
+    }
+    
+    private static int resolutionOf(String header) {
+        String[] parts = header.split(" ");
+        try {
+            return parts.length == 3 && parts[0].equals("V") ? Integer.parseInt(parts[2]) : 1;
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+    
+    private static String formatRate(double rate) {
+        return String.valueOf(Math.round(rate * 100) / 100.0);
+    }
+    
+    public enum Outcome {
+        COMPLETED("C"),
+        CANCELLED("X"),
+        STOPPED("S");
+        
+        private final String code;
+        
+        Outcome(String code) {
+            this.code = code;
+        }
+        
+        static Outcome of(String code) {
+            for (Outcome outcome : values()) {
+                if (outcome.code.equals(code)) {
+                    return outcome;
+                }
+            }
+            return null;
+        }
+    }
+    
+    public interface Visitor {
+        default void sample(String world, long second, int span, long chunks, double peak) {
+        }
+        
+        default void session(String world, long startMillis, long endMillis, long activeMillis, long chunks, Outcome outcome) {
+        }
+        
+        default void baseline(String world, long chunks, long activeMillis, long timedChunks, int sessions,
+                              int completed, int cancelled, double peak, long lastGeneration) {
+        }
+    }
+}
\ No newline at end of file
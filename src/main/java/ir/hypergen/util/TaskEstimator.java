@@ -0,0 +1,214 @@
+package ir.hypergen.util;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.manager.ConfigManager;
+import ir.hypergen.model.Estimate;
+import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.Selection;
+import org.bukkit.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TaskEstimator {
+    private static final int CANDIDATES_PER_SAMPLE = 4;
+    private static final int[] NO_REGION = new int[RegionFiles.CHUNKS_PER_REGION];
+    
+    private final HyperGen plugin;
+    private final Selection selection;
+    private final GenerationTask.GenerationMode mode;
+    private final int samples;
+    private final CompletableFuture<Estimate> result;
+    
+    public TaskEstimator(HyperGen plugin, Selection selection, GenerationTask.GenerationMode mode) {
+        this.plugin = plugin;
+        this.selection = selection.copy();
+        this.mode = mode;
+        this.samples = plugin.getConfigManager().getEstimateSamples();
+        this.result = new CompletableFuture<>();
+    }
+    
+    public CompletableFuture<Estimate> run() {
+        plugin.getSchedulerAdapter().runAsync(this::plan);
+        return result;
+    }
+    
+    private void plan() {
+        try {
+            File regionFolder = RegionFiles.getRegionFolder(selection.getWorld());
+            long total = 0;
+            for (int relZ = selection.getMinRelZ(); relZ <= selection.getMaxRelZ(); relZ++) {
+                total += selection.countRow(relZ);
+            }
+            List<GenerationTask.ChunkCoord> candidates = pickCandidates(total, Math.min(total, (long) samples * CANDIDATES_PER_SAMPLE));
+            
+            Map<Long, int[]> headers = new HashMap<>();
+            List<GenerationTask.ChunkCoord> targets = new ArrayList<>();
+            int picked = candidates.size();
+            int existing = 0;
+            long existingBytes = 0;
+            
+            for (GenerationTask.ChunkCoord coord : candidates) {
+                int location = locationOf(regionFolder, headers, coord.getX(), coord.getZ());
+                if (location != 0) {
+                    existing++;
+                    existingBytes += (long) RegionFiles.sectorCount(location) * RegionFiles.SECTOR_SIZE;
+                } else if (targets.size() < samples) {
+                    targets.add(coord);
+                }
+            }
+            
+            Estimate estimate = new Estimate();
+            estimate.setTotalChunks(total);
+            estimate.setExistingChunks(picked > 0 ? Math.round(total * (double) existing / picked) : 0);
+            long fallbackBytes = existing > 0 ? existingBytes / existing : -1;
+            
+            plugin.getSchedulerAdapter().run(() -> sample(estimate, targets, fallbackBytes));
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+    
+    private List<GenerationTask.ChunkCoord> pickCandidates(long total, long candidates) {
+        List<GenerationTask.ChunkCoord> picks = new ArrayList<>();
+        int baseX = selection.getCenterX() >> 4;
+        int baseZ = selection.getCenterZ() >> 4;
+        long rowStart = 0;
+        long next = 0;
+        
+        for (int relZ = selection.getMinRelZ(); relZ <= selection.getMaxRelZ() && picks.size() < candidates; relZ++) {
+            long count = selection.countRow(relZ);
+            if (next >= rowStart + count) {
+                rowStart += count;
+                continue;
+            }
+            
+            long index = rowStart;
+            for (int relX = selection.getMinRelX(); relX <= selection.getMaxRelX() && next < rowStart + count; relX++) {
+                if (!selection.containsChunk(relX, relZ) || index++ != next) {
+                    continue;
+                }
+                picks.add(new GenerationTask.ChunkCoord(baseX + relX, baseZ + relZ));
+                next = picks.size() * total / candidates;
+            }
+            rowStart += count;
+        }
+        return picks;
+    }
+    
+    private void sample(Estimate estimate, List<GenerationTask.ChunkCoord> targets, long fallbackBytes) {
+        if (targets.isEmpty()) {
+            finish(estimate, new ArrayList<>(), 0, 0, 0, fallbackBytes);
+            return;
+        }
+        
+        World world = selection.getWorld();
+        ConcurrentLinkedQueue<GenerationTask.ChunkCoord> held = new ConcurrentLinkedQueue<>();
+        AtomicInteger pending = new AtomicInteger(targets.size());
+        AtomicLong latencyNanos = new AtomicLong();
+        long heapBefore = usedHeap();
+        long started = System.nanoTime();
+        
+        for (GenerationTask.ChunkCoord coord : targets) {
+            plugin.getSchedulerAdapter().runAt(world, coord.getX(), coord.getZ(), () -> {
+                long requestedAt = System.nanoTime();
+                world.getChunkAtAsync(coord.getX(), coord.getZ()).whenComplete((chunk, throwable) -> {
+                    if (chunk != null) {
+                        chunk.addPluginChunkTicket(plugin);
+                        held.add(coord);
+                        latencyNanos.addAndGet(System.nanoTime() - requestedAt);
+                    }
+                    
+                    if (pending.decrementAndGet() == 0) {
+                        long wall = System.nanoTime() - started;
+                        long heapGrowth = Math.max(0, usedHeap() - heapBefore);
+                        plugin.getSchedulerAdapter().run(() ->
+                            finish(estimate, new ArrayList<>(held), wall, latencyNanos.get(), heapGrowth, fallbackBytes));
+                    }
+                });
+            });
+        }
+    }
+    
+    private void finish(Estimate estimate, List<GenerationTask.ChunkCoord> held, long wallNanos, long latencyNanos, long heapGrowth, long fallbackBytes) {
+        ConfigManager config = plugin.getConfigManager();
+        int loaded = held.size();
+        int maxInFlight = Math.max(1, config.getMaxConcurrentChunks());
+        
+        estimate.setSampledChunks(loaded);
+        estimate.setHistoricalChunksPerSecond(plugin.getStatisticsManager().getStatistics(selection.getWorld().getName()).getAverageSpeed());
+        
+        if (loaded > 0 && wallNanos > 0) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            double measured = loaded / (wallNanos / 1_000_000_000.0);
+            double scale = Math.max(1.0, Math.min(maxInFlight, cores) / (double) Math.min(loaded, cores));
+            estimate.setMeanLatencyMillis(latencyNanos / 1_000_000.0 / loaded);
+            estimate.setChunksPerSecond(Math.min(measured * scale, ChunkGenerator.getNominalRate(config, mode)));
+        }
+        
+        long perChunkHeap = loaded > 0 ? heapGrowth / loaded : 0;
+        estimate.setPeakMemoryBytes(usedHeap() + perChunkHeap * (config.getMaxResidentChunks() + maxInFlight));
+        
+        World world = selection.getWorld();
+        for (GenerationTask.ChunkCoord coord : held) {
+            plugin.getSchedulerAdapter().runAt(world, coord.getX(), coord.getZ(), () -> {
+                world.removePluginChunkTicket(coord.getX(), coord.getZ(), plugin);
+                if (!plugin.getSchedulerAdapter().isFolia() && world.isChunkLoaded(coord.getX(), coord.getZ())) {
+                    world.unloadChunk(coord.getX(), coord.getZ(), true);
+                }
+            });
+        }
+        
+        if (held.isEmpty()) {
+            estimate.setBytesPerChunk(fallbackBytes);
+            result.complete(estimate);
+            return;
+        }
+        
+        plugin.getSchedulerAdapter().runLater(() -> plugin.getSchedulerAdapter().runAsync(() -> {
+            estimate.setBytesPerChunk(measureDisk(held, fallbackBytes));
+            result.complete(estimate);
+        }), config.getEstimateDiskWaitSeconds() * 20L);
+    }
+    
+    private long measureDisk(List<GenerationTask.ChunkCoord> chunks, long fallbackBytes) {
+        File regionFolder = RegionFiles.getRegionFolder(selection.getWorld());
+        Map<Long, int[]> headers = new HashMap<>();
+        long bytes = 0;
+        int found = 0;
+        
+        for (GenerationTask.ChunkCoord coord : chunks) {
+            int location = locationOf(regionFolder, headers, coord.getX(), coord.getZ());
+            if (location != 0) {
+                bytes += (long) RegionFiles.sectorCount(location) * RegionFiles.SECTOR_SIZE;
+                found++;
+            }
+        }
+        return found > 0 ? bytes / found : fallbackBytes;
+    }
+    
+    private static int locationOf(File regionFolder, Map<Long, int[]> headers, int x, int z) {
+        int[] locations = headers.computeIfAbsent(ChunkBitmap.regionKey(x >> 5, z >> 5), key -> {
+            try {
+                int[] read = RegionFiles.readLocations(RegionFiles.getRegionFile(regionFolder, x >> 5, z >> 5));
+                return read != null ? read : NO_REGION;
+            } catch (IOException e) {
+                return NO_REGION;
+            }
+        });
+        return locations[RegionFiles.headerIndex(x, z)];
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
\ No newline at end of file
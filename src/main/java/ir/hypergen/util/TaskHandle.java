@@ -0,0 +1,7 @@
+package ir.hypergen.util;
+
+@FunctionalInterface
+public interface TaskHandle {
+    
+    void cancel();
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package ir.hypergen.util;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.Arrays;
+
+public class TickMonitor implements Listener {
+    private static final int WINDOW = 100;
+    
+    private final TimeSource timeSource;
+    private final double[] samples;
+    private final double[] sorted;
+    private int head;
+    private int count;
+    private long tickCount;
+    private long tickStartNanos;
+    private long sortedAt;
+    
+    public TickMonitor(TimeSource timeSource) {
+        this.timeSource = timeSource;
+        this.samples = new double[WINDOW];
+        this.sorted = new double[WINDOW];
+        this.head = 0;
+        this.count = 0;
+        this.tickCount = 0;
+        this.tickStartNanos = timeSource.nanoTime();
+        this.sortedAt = -1;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickStart(ServerTickStartEvent event) {
+        startTick();
+    }
+    
+    public void startTick() {
+        tickStartNanos = timeSource.nanoTime();
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        record(event.getTickDuration());
+    }
+    
+    public void record(double mspt) {
+        samples[head] = mspt;
+        head = (head + 1) % WINDOW;
+        if (count < WINDOW) {
+            count++;
+        }
+        tickCount++;
+    }
+    
+    public long getTickCount() {
+        return tickCount;
+    }
+    
+    public long getTickStartNanos() {
+        return tickStartNanos;
+    }
+    
+    public double getLastMspt() {
+        return count > 0 ? samples[(head + WINDOW - 1) % WINDOW] : 0;
+    }
+    
+    public double getMeanMspt() {
+        if (count == 0) {
+            return Bukkit.getAverageTickTime();
+        }
+        
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += samples[i];
+        }
+        return sum / count;
+    }
+    
+    public double getPercentileMspt(double percentile) {
+        if (count == 0) {
+            return Bukkit.getAverageTickTime();
+        }
+        
+        if (sortedAt != tickCount) {
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            sortedAt = tickCount;
+        }
+        
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package ir.hypergen.util;
+
+public interface TimeSource {
+    TimeSource SYSTEM = new TimeSource() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+        
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+    
+    long nanoTime();
+    
+    long currentTimeMillis();
+}
\ No newline at end of file
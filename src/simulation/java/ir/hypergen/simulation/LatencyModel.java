@@ -0,0 +1,72 @@
+package ir.hypergen.simulation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@FunctionalInterface
+public interface LatencyModel {
+    
+    long sampleNanos(int x, int z, Random random);
+    
+    default LatencyModel withParetoTail(double probability, double alpha) {
+        if (probability <= 0) {
+            return this;
+        }
+        
+        return (x, z, random) -> {
+            long base = sampleNanos(x, z, random);
+            if (random.nextDouble() >= probability) {
+                return base;
+            }
+            return (long) (base * Math.pow(1.0 - random.nextDouble(), -1.0 / alpha));
+        };
+    }
+    
+    static LatencyModel fixed(double millis) {
+        long nanos = (long) (millis * 1_000_000L);
+        return (x, z, random) -> nanos;
+    }
+    
+    static LatencyModel logNormal(double medianMillis, double sigma) {
+        return (x, z, random) -> (long) (medianMillis * Math.exp(sigma * random.nextGaussian()) * 1_000_000L);
+    }
+    
+    static LatencyModel byBiome(int cellSize, Map<String, LatencyModel> biomes) {
+        List<LatencyModel> models = new ArrayList<>(biomes.values());
+        return (x, z, random) -> models.get(biomeIndex(x, z, cellSize, models.size())).sampleNanos(x, z, random);
+    }
+    
+    static int biomeIndex(int x, int z, int cellSize, int count) {
+        long key = ((long) Math.floorDiv(x, cellSize) << 32) ^ (Math.floorDiv(z, cellSize) & 0xFFFFFFFFL);
+        key *= 0x9E3779B97F4A7C15L;
+        key ^= key >>> 29;
+        return (int) Math.floorMod(key, (long) count);
+    }
+    
+    static Map<String, LatencyModel> defaultBiomes() {
+        Map<String, LatencyModel> biomes = new LinkedHashMap<>();
+        biomes.put("ocean", logNormal(12, 0.3));
+        biomes.put("plains", logNormal(18, 0.4));
+        biomes.put("forest", logNormal(28, 0.5));
+        biomes.put("mountains", logNormal(45, 0.6));
+        biomes.put("jungle", logNormal(70, 0.7));
+        return biomes;
+    }
+    
+    static LatencyModel parse(String spec) {
+        String[] parts = spec.split(":");
+        switch (parts[0].toLowerCase()) {
+            case "fixed":
+                return fixed(Double.parseDouble(parts[1]));
+            case "lognormal":
+                return logNormal(Double.parseDouble(parts[1]), parts.length > 2 ? Double.parseDouble(parts[2]) : 0.5);
+            case "biomes":
+                return byBiome(parts.length > 1 ? Integer.parseInt(parts[1]) : 16, defaultBiomes());
+            default:
+                throw new IllegalArgumentException("Unknown latency model '" + spec + "', expected fixed:<ms>, lognormal:<median ms>[:<sigma>] or biomes[:<cell size>]");
+        }
+    }
+}
\ No newline at end of file
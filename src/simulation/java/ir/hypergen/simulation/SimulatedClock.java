@@ -0,0 +1,45 @@
+package ir.hypergen.simulation;
+
+import ir.hypergen.util.TimeSource;
+
+public class SimulatedClock implements TimeSource {
+    private static final long EPOCH_MILLIS = 1_700_000_000_000L;
+    
+    private volatile long virtualNanos;
+    private volatile long tickRealStart;
+    private volatile boolean ticking;
+    
+    public SimulatedClock() {
+        this.virtualNanos = 0;
+        this.ticking = false;
+    }
+    
+    @Override
+    public long nanoTime() {
+        return ticking ? virtualNanos + (System.nanoTime() - tickRealStart) : virtualNanos;
+    }
+    
+    @Override
+    public long currentTimeMillis() {
+        return EPOCH_MILLIS + nanoTime() / 1_000_000L;
+    }
+    
+    public void beginTick() {
+        tickRealStart = System.nanoTime();
+        ticking = true;
+    }
+    
+    public long endTick() {
+        long work = System.nanoTime() - tickRealStart;
+        ticking = false;
+        return work;
+    }
+    
+    public void advance(long nanos) {
+        virtualNanos += nanos;
+    }
+    
+    public long getVirtualNanos() {
+        return virtualNanos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package ir.hypergen.simulation;
+
+import ir.hypergen.util.SchedulerAdapter;
+import ir.hypergen.util.TaskHandle;
+import lombok.Getter;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+public class SimulatedScheduler implements SchedulerAdapter {
+    private final ExecutorService asyncPool;
+    private final Queue<Runnable> mainQueue;
+    private final PriorityQueue<Scheduled> scheduled;
+    private volatile Thread mainThread;
+    @Getter
+    private long currentTick;
+    private long sequence;
+    
+    public SimulatedScheduler(ExecutorService asyncPool) {
+        this.asyncPool = asyncPool;
+        this.mainQueue = new ConcurrentLinkedQueue<>();
+        this.scheduled = new PriorityQueue<>(Comparator.comparingLong(Scheduled::getDue).thenComparingLong(Scheduled::getSequence));
+        this.currentTick = 0;
+        this.sequence = 0;
+    }
+    
+    @Override
+    public boolean isFolia() {
+        return false;
+    }
+    
+    @Override
+    public TaskHandle runTimer(Runnable task, long delayTicks, long periodTicks) {
+        return schedule(task, delayTicks, Math.max(1, periodTicks), false);
+    }
+    
+    @Override
+    public TaskHandle runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        return schedule(task, delayTicks, Math.max(1, periodTicks), true);
+    }
+    
+    @Override
+    public TaskHandle runLater(Runnable task, long delayTicks) {
+        return schedule(task, delayTicks, 0, false);
+    }
+    
+    @Override
+    public TaskHandle runEntityTimer(Entity entity, Runnable task, long delayTicks, long periodTicks) {
+        return runTimer(task, delayTicks, periodTicks);
+    }
+    
+    @Override
+    public void run(Runnable task) {
+        mainQueue.add(task);
+    }
+    
+    @Override
+    public void runAsync(Runnable task) {
+        asyncPool.execute(task);
+    }
+    
+    @Override
+    public void runAt(World world, int chunkX, int chunkZ, Runnable task) {
+        if (Thread.currentThread() == mainThread) {
+            task.run();
+        } else {
+            mainQueue.add(task);
+        }
+    }
+    
+    public void tick() {
+        mainThread = Thread.currentThread();
+        
+        for (int pending = mainQueue.size(); pending > 0; pending--) {
+            Runnable task = mainQueue.poll();
+            if (task == null) {
+                break;
+            }
+            task.run();
+        }
+        
+        Scheduled next;
+        while ((next = poll()) != null) {
+            if (next.isCancelled()) {
+                continue;
+            }
+            
+            if (next.isAsync()) {
+                asyncPool.execute(next.getTask());
+            } else {
+                next.getTask().run();
+            }
+            
+            if (next.getPeriod() > 0 && !next.isCancelled()) {
+                next.setDue(currentTick + next.getPeriod());
+                synchronized (scheduled) {
+                    scheduled.add(next);
+                }
+            }
+        }
+        currentTick++;
+    }
+    
+    private Scheduled poll() {
+        synchronized (scheduled) {
+            Scheduled head = scheduled.peek();
+            return head != null && head.getDue() <= currentTick ? scheduled.poll() : null;
+        }
+    }
+    
+    private TaskHandle schedule(Runnable task, long delayTicks, long periodTicks, boolean async) {
+        Scheduled entry;
+        synchronized (scheduled) {
+            entry = new Scheduled(task, currentTick + Math.max(0, delayTicks), periodTicks, async, sequence++);
+            scheduled.add(entry);
+        }
+        return entry::cancel;
+    }
+    
+    @Getter
+    private static final class Scheduled {
+        private final Runnable task;
+        private final long period;
+        private final boolean async;
+        private final long sequence;
+        private long due;
+        private volatile boolean cancelled;
+        
+        Scheduled(Runnable task, long due, long period, boolean async, long sequence) {
+            this.task = task;
+            this.due = due;
+            this.period = period;
+            this.async = async;
+            this.sequence = sequence;
+        }
+        
+        void setDue(long due) {
+            this.due = due;
+        }
+        
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package ir.hypergen.simulation;
+
+import lombok.Getter;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SimulatedWorld implements InvocationHandler {
+    @Getter
+    private final String name;
+    private final UUID uid;
+    private final SimulationConfig config;
+    private final LatencyModel latency;
+    private final SimulatedClock clock;
+    private final Random random;
+    private final PriorityQueue<Long> workers;
+    private final PriorityQueue<PendingLoad> pending;
+    private final Map<Long, Chunk> loaded;
+    private final AtomicLong failures;
+    @Getter
+    private final World world;
+    private long sequence;
+    
+    public SimulatedWorld(String name, SimulationConfig config, SimulatedClock clock, Random random) {
+        this.name = name;
+        this.uid = UUID.nameUUIDFromBytes(name.getBytes());
+        this.config = config;
+        this.latency = config.getLatency().withParetoTail(config.getTailProbability(), config.getTailAlpha());
+        this.clock = clock;
+        this.random = random;
+        this.workers = new PriorityQueue<>();
+        this.pending = new PriorityQueue<>(Comparator.comparingLong(PendingLoad::getDue).thenComparingLong(PendingLoad::getSequence));
+        this.loaded = new ConcurrentHashMap<>();
+        this.failures = new AtomicLong();
+        this.world = (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class}, this);
+        this.sequence = 0;
+        
+        for (int i = 0; i < Math.max(1, config.getGenerationThreads()); i++) {
+            workers.add(0L);
+        }
+    }
+    
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getName":
+                return name;
+            case "getUID":
+                return uid;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "SimulatedWorld{" + name + "}";
+            case "getChunkAtAsync":
+                if (args.length >= 2 && args[0] instanceof Integer && args[1] instanceof Integer) {
+                    return requestChunk((Integer) args[0], (Integer) args[1]);
+                }
+                break;
+            case "isChunkLoaded":
+                if (args.length == 2 && args[0] instanceof Integer) {
+                    return loaded.containsKey(key((Integer) args[0], (Integer) args[1]));
+                }
+                break;
+            case "unloadChunk":
+            case "unloadChunkRequest":
+                if (args.length >= 2 && args[0] instanceof Integer) {
+                    return loaded.remove(key((Integer) args[0], (Integer) args[1])) != null;
+                }
+                break;
+            case "addPluginChunkTicket":
+            case "removePluginChunkTicket":
+                return true;
+            default:
+                break;
+        }
+        return defaultValue(method.getReturnType());
+    }
+    
+    public int getLoadedChunks() {
+        return loaded.size();
+    }
+    
+    public long getFailures() {
+        return failures.get();
+    }
+    
+    public synchronized int getPendingLoads() {
+        return pending.size();
+    }
+    
+    private synchronized CompletableFuture<Chunk> requestChunk(int x, int z) {
+        Chunk chunk = loaded.get(key(x, z));
+        if (chunk != null) {
+            return CompletableFuture.completedFuture(chunk);
+        }
+        
+        CompletableFuture<Chunk> future = new CompletableFuture<>();
+        long start = Math.max(clock.nanoTime(), workers.poll());
+        long due = start + latency.sampleNanos(x, z, random);
+        boolean fail = config.getFailureRate() > 0 && random.nextDouble() < config.getFailureRate();
+        workers.add(due);
+        pending.add(new PendingLoad(x, z, due, sequence++, fail, future));
+        return future;
+    }
+    
+    public int deliver(long now, ExecutorService callbacks) throws InterruptedException {
+        List<PendingLoad> due = new ArrayList<>();
+        synchronized (this) {
+            while (!pending.isEmpty() && pending.peek().getDue() <= now) {
+                due.add(pending.poll());
+            }
+        }
+        
+        if (callbacks == null) {
+            due.forEach(this::complete);
+            return due.size();
+        }
+        
+        CountDownLatch latch = new CountDownLatch(due.size());
+        for (PendingLoad load : due) {
+            callbacks.execute(() -> {
+                try {
+                    complete(load);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        return due.size();
+    }
+    
+    private void complete(PendingLoad load) {
+        if (load.isFail()) {
+            failures.incrementAndGet();
+            load.getFuture().completeExceptionally(new IllegalStateException("Simulated generation failure at " + load.getX() + ", " + load.getZ()));
+            return;
+        }
+        
+        Chunk chunk = loaded.computeIfAbsent(key(load.getX(), load.getZ()), k -> createChunk(load.getX(), load.getZ()));
+        load.getFuture().complete(chunk);
+    }
+    
+    private Chunk createChunk(int x, int z) {
+        byte[] payload = new byte[Math.max(0, config.getChunkBytes())];
+        return (Chunk) Proxy.newProxyInstance(Chunk.class.getClassLoader(), new Class<?>[]{Chunk.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getX":
+                    return x;
+                case "getZ":
+                    return z;
+                case "getWorld":
+                    return world;
+                case "isLoaded":
+                    return loaded.containsKey(key(x, z));
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SimulatedChunk{" + name + ", " + x + ", " + z + ", " + payload.length + " bytes}";
+                case "addPluginChunkTicket":
+                case "removePluginChunkTicket":
+                    return true;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+    
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+    
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+    
+    @Getter
+    private static final class PendingLoad {
+        private final int x;
+        private final int z;
+        private final long due;
+        private final long sequence;
+        private final boolean fail;
+        private final CompletableFuture<Chunk> future;
+        
+        PendingLoad(int x, int z, long due, long sequence, boolean fail, CompletableFuture<Chunk> future) {
+            this.x = x;
+            this.z = z;
+            this.due = due;
+            this.sequence = sequence;
+            this.fail = fail;
+            this.future = future;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,345 @@
+package ir.hypergen.simulation;
+
+import ir.hypergen.HyperGen;
+import ir.hypergen.manager.CheckpointManager;
+import ir.hypergen.manager.CompactionManager;
+import ir.hypergen.manager.ConfigManager;
+import ir.hypergen.manager.MetricsManager;
+import ir.hypergen.manager.PatternManager;
+import ir.hypergen.manager.StatisticsManager;
+import ir.hypergen.manager.TaskManager;
+import ir.hypergen.model.Selection;
+import ir.hypergen.util.ChunkGenerator;
+import ir.hypergen.util.RegionFiles;
+import ir.hypergen.util.TickMonitor;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class Simulation {
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final double TICK_MILLIS = 50.0;
+    
+    private final SimulationConfig config;
+    
+    public Simulation(SimulationConfig config) {
+        this.config = config;
+    }
+    
+    public SimulationReport run() throws IOException, InterruptedException, InvalidConfigurationException {
+        Path dataFolder = Files.createTempDirectory("hypergen-simulation");
+        ExecutorService asyncPool = RegionFiles.newWorkerPool("Simulation-Async", 4);
+        ExecutorService callbackPool = config.getCallbackThreads() > 0
+            ? RegionFiles.newWorkerPool("Simulation-Callback", config.getCallbackThreads()) : null;
+        
+        try {
+            return simulate(dataFolder.toFile(), asyncPool, callbackPool);
+        } finally {
+            asyncPool.shutdownNow();
+            if (callbackPool != null) {
+                callbackPool.shutdownNow();
+            }
+            delete(dataFolder);
+        }
+    }
+    
+    private SimulationReport simulate(File dataFolder, ExecutorService asyncPool, ExecutorService callbackPool)
+        throws IOException, InterruptedException, InvalidConfigurationException {
+        SimulatedClock clock = new SimulatedClock();
+        SimulatedScheduler scheduler = new SimulatedScheduler(asyncPool);
+        HyperGen plugin = createPlugin(dataFolder, clock, scheduler);
+        TaskManager taskManager = plugin.getTaskManager();
+        TickMonitor tickMonitor = plugin.getTickMonitor();
+        Random load = new Random(config.getSeed());
+        
+        Map<SimulatedWorld, ChunkGenerator> generators = new LinkedHashMap<>();
+        long totalChunks = 0;
+        for (int i = 0; i < Math.max(1, config.getWorlds()); i++) {
+            SimulatedWorld world = new SimulatedWorld(i == 0 ? "world" : "world_" + i, config, clock, new Random(config.getSeed() + i + 1));
+            taskManager.startTask(world.getWorld(), createSelection(world.getWorld()), config.getMode());
+            ChunkGenerator generator = taskManager.getGenerator(world.getWorld());
+            generators.put(world, generator);
+            totalChunks += generator.getTask().getTotalChunks();
+        }
+        
+        Samples work = new Samples();
+        Samples mspt = new Samples();
+        long limit = config.getMaxSimulatedSeconds() * 1_000_000_000L;
+        long wallStart = System.nanoTime();
+        long ticksOverBudget = 0;
+        long peakHeap = usedHeap();
+        int peakInFlight = 0;
+        int peakLoaded = 0;
+        boolean stalled = false;
+        tickMonitor.record(config.getBaseMspt());
+        
+        while (isRunning(taskManager, generators) && clock.getVirtualNanos() < limit) {
+            int delivered = 0;
+            for (SimulatedWorld world : generators.keySet()) {
+                delivered += world.deliver(clock.getVirtualNanos(), callbackPool);
+            }
+            
+            clock.beginTick();
+            tickMonitor.startTick();
+            scheduler.tick();
+            long workNanos = clock.endTick();
+            
+            double tickMspt = Math.max(0, config.getBaseMspt() + config.getMsptJitter() * load.nextGaussian())
+                + (load.nextDouble() < config.getSpikeProbability() ? config.getSpikeMspt() : 0)
+                + delivered * config.getMainThreadCostPerChunk()
+                + workNanos / 1_000_000.0;
+            tickMonitor.record(tickMspt);
+            work.add(workNanos / 1_000_000.0);
+            mspt.add(tickMspt);
+            if (tickMspt > TICK_MILLIS) {
+                ticksOverBudget++;
+            }
+            
+            int inFlight = 0;
+            int loaded = 0;
+            for (Map.Entry<SimulatedWorld, ChunkGenerator> entry : generators.entrySet()) {
+                inFlight += entry.getValue().getInFlight();
+                loaded += entry.getKey().getLoadedChunks();
+            }
+            peakInFlight = Math.max(peakInFlight, inFlight);
+            peakLoaded = Math.max(peakLoaded, loaded);
+            peakHeap = Math.max(peakHeap, usedHeap());
+            
+            if (isStalled(taskManager, generators)) {
+                stalled = true;
+                break;
+            }
+            clock.advance(Math.max(TICK_NANOS, (long) (tickMspt * 1_000_000L)));
+        }
+        
+        boolean completed = !isRunning(taskManager, generators);
+        if (!completed) {
+            taskManager.shutdown();
+        }
+        plugin.getStatisticsManager().shutdown();
+        
+        SimulationReport report = new SimulationReport();
+        report.setMode(config.getMode());
+        report.setPattern(config.getPattern());
+        report.setRadius(config.getRadius());
+        report.setCompleted(completed);
+        report.setStalled(stalled);
+        report.setTotalChunks(totalChunks);
+        report.setTicks(mspt.size());
+        report.setSimulatedMillis(clock.getVirtualNanos() / 1_000_000L);
+        report.setWallMillis((System.nanoTime() - wallStart) / 1_000_000L);
+        report.setMeanWorkMillis(work.mean());
+        report.setP99WorkMillis(work.percentile(0.99));
+        report.setMaxWorkMillis(work.max());
+        report.setMeanMspt(mspt.mean());
+        report.setP95Mspt(mspt.percentile(0.95));
+        report.setMaxMspt(mspt.max());
+        report.setTicksOverBudget(ticksOverBudget);
+        report.setPeakInFlight(peakInFlight);
+        report.setPeakLoadedChunks(peakLoaded);
+        report.setPeakHeapBytes(peakHeap);
+        
+        long generated = 0;
+        long failed = 0;
+        long simulatedFailures = 0;
+        for (Map.Entry<SimulatedWorld, ChunkGenerator> entry : generators.entrySet()) {
+            long chunks = entry.getValue().getGenerated().get();
+            report.getGeneratedPerWorld().put(entry.getKey().getName(), chunks);
+            generated += chunks;
+            failed += entry.getValue().getFailedChunks().size();
+            simulatedFailures += entry.getKey().getFailures();
+        }
+        MetricsManager metrics = plugin.getMetricsManager();
+        long latencySamples = 0;
+        for (SimulatedWorld world : generators.keySet()) {
+            MetricsManager.WorldMetrics worldMetrics = metrics.getWorldMetrics(world.getWorld());
+            if (worldMetrics.getLatency().getTotalCount() > latencySamples) {
+                latencySamples = worldMetrics.getLatency().getTotalCount();
+                report.setP50LatencyMillis(worldMetrics.getLatency().getPercentileMillis(0.5));
+                report.setP99LatencyMillis(worldMetrics.getLatency().getPercentileMillis(0.99));
+            }
+        }
+        report.setGeneratedChunks(generated);
+        report.setFailedChunks(failed);
+        report.setSimulatedFailures(simulatedFailures);
+        return report;
+    }
+    
+    private boolean isRunning(TaskManager taskManager, Map<SimulatedWorld, ChunkGenerator> generators) {
+        for (SimulatedWorld world : generators.keySet()) {
+            if (taskManager.hasActiveTask(world.getWorld())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean isStalled(TaskManager taskManager, Map<SimulatedWorld, ChunkGenerator> generators) {
+        boolean active = false;
+        for (SimulatedWorld world : generators.keySet()) {
+            if (taskManager.hasActiveTask(world.getWorld())) {
+                active = true;
+                if (!taskManager.getTask(world.getWorld()).isPaused() || world.getPendingLoads() > 0) {
+                    return false;
+                }
+            }
+        }
+        return active;
+    }
+    
+    private Selection createSelection(World world) {
+        Selection selection = new Selection();
+        selection.setWorld(world);
+        selection.setShape(config.getShape());
+        selection.setPattern(config.getPattern());
+        selection.setRadius(config.getRadius());
+        selection.setRadiusX(config.getRadius());
+        selection.setRadiusZ(config.getRadius());
+        selection.fitBoundsToRadius();
+        return selection;
+    }
+    
+    private HyperGen createPlugin(File dataFolder, SimulatedClock clock, SimulatedScheduler scheduler)
+        throws IOException, InvalidConfigurationException {
+        YamlConfiguration yaml = loadConfig();
+        try (InputStream messages = resource("messages_en.yml")) {
+            Files.copy(messages, new File(dataFolder, "messages_en.yml").toPath());
+        }
+        
+        Logger logger = Logger.getLogger("HyperGen-Simulation");
+        logger.setLevel(config.isVerbose() ? Level.INFO : Level.WARNING);
+        
+        Server server = mock(Server.class);
+        doReturn(Collections.emptyList()).when(server).getOnlinePlayers();
+        
+        HyperGen plugin = mock(HyperGen.class);
+        when(plugin.getConfig()).thenReturn(yaml);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.isEnabled()).thenReturn(true);
+        when(plugin.getSchedulerAdapter()).thenReturn(scheduler);
+        when(plugin.getTimeSource()).thenReturn(clock);
+        
+        TickMonitor tickMonitor = new TickMonitor(clock);
+        when(plugin.getTickMonitor()).thenReturn(tickMonitor);
+        ConfigManager configManager = new ConfigManager(plugin);
+        when(plugin.getConfigManager()).thenReturn(configManager);
+        PatternManager patternManager = new PatternManager(plugin);
+        when(plugin.getPatternManager()).thenReturn(patternManager);
+        MetricsManager metricsManager = new MetricsManager(plugin);
+        when(plugin.getMetricsManager()).thenReturn(metricsManager);
+        StatisticsManager statisticsManager = new StatisticsManager(plugin);
+        when(plugin.getStatisticsManager()).thenReturn(statisticsManager);
+        CheckpointManager checkpointManager = new CheckpointManager(plugin);
+        when(plugin.getCheckpointManager()).thenReturn(checkpointManager);
+        CompactionManager compactionManager = new CompactionManager(plugin);
+        when(plugin.getCompactionManager()).thenReturn(compactionManager);
+        TaskManager taskManager = new TaskManager(plugin);
+        when(plugin.getTaskManager()).thenReturn(taskManager);
+        return plugin;
+    }
+    
+    private YamlConfiguration loadConfig() throws IOException, InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        try (InputStream defaults = resource("config.yml")) {
+            yaml.load(new InputStreamReader(defaults, StandardCharsets.UTF_8));
+        }
+        
+        yaml.set("language", "en");
+        yaml.set("checkpoint.enabled", false);
+        yaml.set("performance.prescan.enabled", false);
+        yaml.set("performance.memory-threshold", 1.01);
+        yaml.set("compaction.after-generation", false);
+        yaml.set("logging.console-updates", config.isVerbose());
+        config.getOverrides().forEach(yaml::set);
+        return yaml;
+    }
+    
+    private static InputStream resource(String name) throws FileNotFoundException {
+        InputStream stream = HyperGen.class.getResourceAsStream("/" + name);
+        if (stream == null) {
+            throw new FileNotFoundException(name + " is not on the simulation classpath");
+        }
+        return stream;
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    private static void delete(Path folder) throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+    
+    private static final class Samples {
+        private double[] values = new double[1024];
+        private int size;
+        
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        double mean() {
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return size > 0 ? sum / size : 0;
+        }
+        
+        double max() {
+            double max = 0;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+        
+        double percentile(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            double[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
\ No newline at end of file
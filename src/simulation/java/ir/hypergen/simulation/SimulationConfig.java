@@ -0,0 +1,33 @@
+package ir.hypergen.simulation;
+
+import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.Selection;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class SimulationConfig {
+    private GenerationTask.GenerationMode mode = GenerationTask.GenerationMode.NORMAL;
+    private Selection.Shape shape = Selection.Shape.SQUARE;
+    private String pattern = "spiral";
+    private int radius = 64;
+    private int worlds = 1;
+    private int generationThreads = 8;
+    private int callbackThreads = 0;
+    private LatencyModel latency = LatencyModel.logNormal(20, 0.5);
+    private double tailProbability = 0.01;
+    private double tailAlpha = 1.5;
+    private double failureRate = 0;
+    private double baseMspt = 25;
+    private double msptJitter = 3;
+    private double spikeProbability = 0.005;
+    private double spikeMspt = 150;
+    private double mainThreadCostPerChunk = 0.1;
+    private int chunkBytes = 64 * 1024;
+    private long maxSimulatedSeconds = 6 * 3600;
+    private long seed = 1;
+    private boolean verbose = false;
+    private Map<String, Object> overrides = new LinkedHashMap<>();
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package ir.hypergen.simulation;
+
+import ir.hypergen.model.GenerationTask;
+import ir.hypergen.model.Selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SimulationMain {
+    private static final String USAGE = String.join(System.lineSeparator(),
+        "Usage: simulate [options]",
+        "  --mode <normal|pro|fast|adaptive|all>   generation mode, 'all' runs each mode in turn (default normal)",
+        "  --pattern <name>                        generation pattern (default spiral)",
+        "  --shape <square|circle|rectangle|ellipse> selection shape (default square)",
+        "  --radius <chunks>                       selection radius (default 64)",
+        "  --worlds <count>                        worlds generated at the same time (default 1)",
+        "  --generation-threads <count>            simulated world generation workers per world (default 8)",
+        "  --callback-threads <count>              threads completing chunk futures, 0 completes on the main thread (default 0)",
+        "  --latency <model>                       fixed:<ms>, lognormal:<median ms>[:<sigma>] or biomes[:<cell size>]",
+        "  --tail <probability>:<alpha>            Pareto tail applied to the latency model (default 0.01:1.5)",
+        "  --failure-rate <probability>            chance a chunk load fails and is retried (default 0)",
+        "  --mspt <ms>                             server tick time without HyperGen (default 25)",
+        "  --jitter <ms>                           standard deviation of the injected tick time (default 3)",
+        "  --spike <probability>:<ms>              occasional lag spikes added to a tick (default 0.005:150)",
+        "  --chunk-cost <ms>                       main thread time charged per completed chunk (default 0.1)",
+        "  --chunk-kb <kb>                         memory held by each loaded chunk (default 64)",
+        "  --max-seconds <seconds>                 simulated time limit (default 21600)",
+        "  --seed <seed>                           random seed (default 1)",
+        "  --set <path>=<value>                    override a config.yml value, may be repeated",
+        "  --min-throughput <chunks/s>             fail if throughput is lower",
+        "  --max-p95-mspt <ms>                     fail if p95 tick time is higher",
+        "  --verbose                               print HyperGen's own log output");
+    
+    public static void main(String[] args) throws Exception {
+        SimulationConfig config = new SimulationConfig();
+        List<GenerationTask.GenerationMode> modes = new ArrayList<>();
+        double minThroughput = 0;
+        double maxP95Mspt = Double.MAX_VALUE;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--mode":
+                        String mode = value(args, ++i);
+                        if (mode.equalsIgnoreCase("all")) {
+                            modes.addAll(Arrays.asList(GenerationTask.GenerationMode.values()));
+                        } else {
+                            modes.add(GenerationTask.GenerationMode.valueOf(mode.toUpperCase()));
+                        }
+                        break;
+                    case "--pattern":
+                        config.setPattern(value(args, ++i).toLowerCase());
+                        break;
+                    case "--shape":
+                        Selection.Shape shape = Selection.Shape.valueOf(value(args, ++i).toUpperCase());
+                        if (shape == Selection.Shape.POLYGON) {
+                            throw new IllegalArgumentException("Polygon selections are not supported by the simulation");
+                        }
+                        config.setShape(shape);
+                        break;
+                    case "--radius":
+                        config.setRadius(Integer.parseInt(value(args, ++i)));
+                        break;
+                    case "--worlds":
+                        config.setWorlds(Integer.parseInt(value(args, ++i)));
+                        break;
+                    case "--generation-threads":
+                        config.setGenerationThreads(Integer.parseInt(value(args, ++i)));
+                        break;
+                    case "--callback-threads":
+                        config.setCallbackThreads(Integer.parseInt(value(args, ++i)));
+                        break;
+                    case "--latency":
+                        config.setLatency(LatencyModel.parse(value(args, ++i)));
+                        break;
+                    case "--tail":
+                        double[] tail = pair(value(args, ++i));
+                        config.setTailProbability(tail[0]);
+                        config.setTailAlpha(tail[1]);
+                        break;
+                    case "--failure-rate":
+                        config.setFailureRate(Double.parseDouble(value(args, ++i)));
+                        break;
+                    case "--mspt":
+                        config.setBaseMspt(Double.parseDouble(value(args, ++i)));
+                        break;
+                    case "--jitter":
+                        config.setMsptJitter(Double.parseDouble(value(args, ++i)));
+                        break;
+                    case "--spike":
+                        double[] spike = pair(value(args, ++i));
+                        config.setSpikeProbability(spike[0]);
+                        config.setSpikeMspt(spike[1]);
+                        break;
+                    case "--chunk-cost":
+                        config.setMainThreadCostPerChunk(Double.parseDouble(value(args, ++i)));
+                        break;
+                    case "--chunk-kb":
+                        config.setChunkBytes(Integer.parseInt(value(args, ++i)) * 1024);
+                        break;
+                    case "--max-seconds":
+                        config.setMaxSimulatedSeconds(Long.parseLong(value(args, ++i)));
+                        break;
+                    case "--seed":
+                        config.setSeed(Long.parseLong(value(args, ++i)));
+                        break;
+                    case "--set":
+                        String[] entry = value(args, ++i).split("=", 2);
+                        if (entry.length != 2) {
+                            throw new IllegalArgumentException("Expected <path>=<value> but got '" + args[i] + "'");
+                        }
+                        config.getOverrides().put(entry[0], parseValue(entry[1]));
+                        break;
+                    case "--min-throughput":
+                        minThroughput = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--max-p95-mspt":
+                        maxP95Mspt = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--verbose":
+                        config.setVerbose(true);
+                        break;
+                    case "--help":
+                        System.out.println(USAGE);
+                        return;
+                    default:
+                        throw new IllegalArgumentException("Unknown option '" + arg + "'");
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        
+        if (modes.isEmpty()) {
+            modes.add(config.getMode());
+        }
+        
+        boolean failed = false;
+        for (GenerationTask.GenerationMode mode : modes) {
+            config.setMode(mode);
+            SimulationReport report = new Simulation(config).run();
+            System.out.println(report.format());
+            System.out.println();
+            
+            if (!report.isCompleted()) {
+                System.err.println(mode.name() + ": the task did not complete");
+                failed = true;
+            }
+            if (report.getChunksPerSecond() < minThroughput) {
+                System.err.println(String.format("%s: throughput %.2f chunks/s is below %.2f", mode.name(), report.getChunksPerSecond(), minThroughput));
+                failed = true;
+            }
+            if (report.getP95Mspt() > maxP95Mspt) {
+                System.err.println(String.format("%s: p95 tick time %.1f ms is above %.1f", mode.name(), report.getP95Mspt(), maxP95Mspt));
+                failed = true;
+            }
+        }
+        System.exit(failed ? 1 : 0);
+    }
+    
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+    
+    private static double[] pair(String value) {
+        String[] parts = value.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Expected <a>:<b> but got '" + value + "'");
+        }
+        return new double[]{Double.parseDouble(parts[0]), Double.parseDouble(parts[1])};
+    }
+    
+    private static Object parseValue(String value) {
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ignored) {
+        }
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package ir.hypergen.simulation;
+
+import ir.hypergen.model.GenerationTask;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class SimulationReport {
+    private GenerationTask.GenerationMode mode;
+    private String pattern;
+    private int radius;
+    private boolean completed;
+    private boolean stalled;
+    private long totalChunks;
+    private long generatedChunks;
+    private long failedChunks;
+    private long simulatedFailures;
+    private long ticks;
+    private long simulatedMillis;
+    private long wallMillis;
+    private double meanWorkMillis;
+    private double p99WorkMillis;
+    private double maxWorkMillis;
+    private double meanMspt;
+    private double p95Mspt;
+    private double maxMspt;
+    private long ticksOverBudget;
+    private int peakInFlight;
+    private int peakLoadedChunks;
+    private long peakHeapBytes;
+    private double p50LatencyMillis;
+    private double p99LatencyMillis;
+    private Map<String, Long> generatedPerWorld = new LinkedHashMap<>();
+    
+    public double getChunksPerSecond() {
+        return simulatedMillis > 0 ? generatedChunks / (simulatedMillis / 1000.0) : 0;
+    }
+    
+    public double getSpeedup() {
+        return wallMillis > 0 ? (double) simulatedMillis / wallMillis : 0;
+    }
+    
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("HyperGen simulation: %s mode, %s pattern, radius %d, %d world(s)%n",
+            mode.name(), pattern, radius, generatedPerWorld.size()));
+        report.append(String.format("Status:      %s after %s simulated (%.1fx faster than real time)%n",
+            completed ? "completed" : stalled ? "stalled" : "time limit reached", formatTime(simulatedMillis), getSpeedup()));
+        report.append(String.format("Chunks:      %d of %d generated, %d failed, %d simulated failures retried%n",
+            generatedChunks, totalChunks, failedChunks, simulatedFailures));
+        report.append(String.format("Throughput:  %.2f chunks/s, chunk latency p50 <= %.1f ms, p99 <= %.1f ms%n",
+            getChunksPerSecond(), p50LatencyMillis, p99LatencyMillis));
+        report.append(String.format("Tick impact: HyperGen work mean %.3f ms, p99 %.3f ms, max %.3f ms per tick over %d ticks%n",
+            meanWorkMillis, p99WorkMillis, maxWorkMillis, ticks));
+        report.append(String.format("MSPT:        mean %.1f, p95 %.1f, max %.1f, %d ticks over 50 ms%n",
+            meanMspt, p95Mspt, maxMspt, ticksOverBudget));
+        report.append(String.format("Memory:      peak heap %.1f MB, peak %d loaded chunks, peak %d in flight",
+            peakHeapBytes / (1024.0 * 1024.0), peakLoadedChunks, peakInFlight));
+        
+        if (generatedPerWorld.size() > 1) {
+            generatedPerWorld.forEach((world, chunks) -> report.append(String.format("%n  %-10s %d chunks", world, chunks)));
+        }
+        return report.toString();
+    }
+    
+    private static String formatTime(long millis) {
+        long seconds = millis / 1000;
+        return String.format("%02d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+}
\ No newline at end of file